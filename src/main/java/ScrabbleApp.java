@@ -4,8 +4,8 @@ import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
-import model.Dictionary;
 import model.Game;
+import model.LexiconRegistry;
 import model.Player;
 import utilities.GameConstants;
 import view.GameView;
@@ -13,9 +13,8 @@ import view.MainMenuView;
 import view.MainMenuView.MainMenuSettings;
 import view.MainMenuView.PlayerSettings;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,6 +24,7 @@ public class ScrabbleApp extends Application {
     private Game game;
     private GameController gameController;
     private Stage primaryStage;
+    private LexiconRegistry.Lease lexiconLease;
 
     public static void main(String[] args) {
         launch(args);
@@ -33,6 +33,16 @@ public class ScrabbleApp extends Application {
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        // Held for the application's lifetime so the shared lexicon loads now and stays cached between games
+        this.lexiconLease = LexiconRegistry.getShared().acquireDefault();
+        lexiconLease.getDictionary().whenComplete((dictionary, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                logger.log(Level.SEVERE, "Failed to load the dictionary", cause);
+                Platform.runLater(() -> showErrorAndExit("Failed to load the dictionary: " + cause.getMessage()));
+            }
+        });
 
         try {
             primaryStage.setTitle("Scrabble");
@@ -81,9 +91,8 @@ public class ScrabbleApp extends Application {
         }
     }
 
-    private void initGame(List<PlayerSettings> playerSettings, int difficulty) throws IOException {
-        InputStream dictionaryStream = Dictionary.loadDefaultDictionary();
-        game = new Game(dictionaryStream, "Dictionary");
+    private void initGame(List<PlayerSettings> playerSettings, int difficulty) {
+        game = new Game(LexiconRegistry.getShared().acquireDefault());
 
         for (PlayerSettings settings : playerSettings) {
             Player player = new Player(settings.getName(), settings.isComputer());
@@ -116,6 +125,9 @@ public class ScrabbleApp extends Application {
         if (gameController != null) {
             gameController.shutdown();
         }
+        if (lexiconLease != null) {
+            lexiconLease.close();
+        }
         logger.info("Application resources cleaned up");
     }
 
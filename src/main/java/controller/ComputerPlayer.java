@@ -2,13 +2,16 @@ package controller;
 
 import model.*;
 import utilities.GameConstants;
+import utilities.MoveBuffer;
+import utilities.SearchBudget;
 import utilities.WordFinder;
-import utilities.WordFinder.WordPlacement;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 public class ComputerPlayer {
     private static final Logger logger = Logger.getLogger(ComputerPlayer.class.getName());
+    private static final int HARD_CANDIDATES = 3;
 
     private final Player player;
     private final Random random;
@@ -27,6 +30,15 @@ public class ComputerPlayer {
 
     // Main move generation
     public Move generateMove(Game game) {
+        return generateMove(game, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Plays the best move found within the budget. If the budget runs out the choice is made
+     * among the placements found so far, or the turn is passed if there are none yet. An
+     * exchange is only considered after a complete search finds no placement.
+     */
+    public Move generateMove(Game game, SearchBudget budget) {
         logger.info("Computer player generating move at difficulty " + difficultyLevel);
 
         if (player.getRack().isEmpty()) {
@@ -35,30 +47,37 @@ public class ComputerPlayer {
         }
 
         try {
-            WordFinder wordFinder = new WordFinder(game.getDictionary(), game.getBoard());
-            List<WordPlacement> placements = wordFinder.findAllPlacements(player.getRack());
+            WordFinder wordFinder = new WordFinder(game.getDictionary(), game.getBoard(), ForkJoinPool.commonPool(),
+                    game.getMoveCache());
+            Rack rack = player.getRack();
+
+            // Hard only ever picks among the best few, so it keeps just those while generating
+            int limit = difficultyLevel == GameConstants.AI_HARD ? HARD_CANDIDATES : Integer.MAX_VALUE;
+            MoveBuffer placements = wordFinder.findPlacements(rack, limit, MoveBuffer.BY_SCORE, budget);
             logger.info("Found " + placements.size() + " possible placements");
 
-            if (placements.isEmpty()) {
-                return generateFallbackMove(game);
+            // A search cut short says nothing about whether a word can be played, so it does
+            // not justify an exchange; the turn is passed once the budget is spent
+            if (placements.size() == 0 && placements.getLinesSearched() < WordFinder.LINES) {
+                logger.info("Search budget spent before any placement was found, passing");
+                return Move.createPassMove(player);
             }
 
-            List<Move> possibleMoves = new ArrayList<>();
-            for (WordPlacement placement : placements) {
-                possibleMoves.add(placement.toMove(player));
+            if (placements.size() == 0) {
+                return generateFallbackMove(game);
             }
 
-            possibleMoves.sort(Comparator.comparing(Move::getScore).reversed());
-
-            int movsToLog = Math.min(3, possibleMoves.size());
+            int movsToLog = Math.min(3, placements.size());
             for (int i = 0; i < movsToLog; i++) {
-                Move move = possibleMoves.get(i);
+                Move move = wordFinder.toPlacement(rack, placements.getKey(i), placements.getScore(i)).toMove(player);
                 logger.info(String.format("Potential move %d: %d points - %s",
                         i+1, move.getScore(),
                         move.getFormedWords().isEmpty() ? "No words" : String.join(", ", move.getFormedWords())));
             }
 
-            Move selectedMove = selectMoveByDifficulty(possibleMoves);
+            int selected = selectMoveByDifficulty(placements.size());
+            Move selectedMove = wordFinder.toPlacement(rack, placements.getKey(selected), placements.getScore(selected))
+                    .toMove(player);
             logger.info("Computer selected move with score: " + selectedMove.getScore());
 
             return selectedMove;
@@ -68,30 +87,31 @@ public class ComputerPlayer {
         }
     }
 
-    private Move selectMoveByDifficulty(List<Move> possibleMoves) {
-        if (possibleMoves.isEmpty()) {
+    // Placements arrive best first; returns the index of the one to play
+    private int selectMoveByDifficulty(int possibleMoves) {
+        if (possibleMoves == 0) {
             throw new IllegalArgumentException("No possible moves to select from");
         }
 
         switch (difficultyLevel) {
             case GameConstants.AI_EASY:
-                if (possibleMoves.size() > 2 && random.nextDouble() < 0.7) {
-                    int startIdx = possibleMoves.size() / 2;
-                    return possibleMoves.get(startIdx + random.nextInt(possibleMoves.size() - startIdx));
+                if (possibleMoves > 2 && random.nextDouble() < 0.7) {
+                    int startIdx = possibleMoves / 2;
+                    return startIdx + random.nextInt(possibleMoves - startIdx);
                 } else {
-                    return possibleMoves.get(random.nextInt(possibleMoves.size()));
+                    return random.nextInt(possibleMoves);
                 }
 
             case GameConstants.AI_MEDIUM:
-                int mediumCutoff = Math.max(1, (int)(possibleMoves.size() * 0.6));
-                return possibleMoves.get(random.nextInt(mediumCutoff));
+                int mediumCutoff = Math.max(1, (int)(possibleMoves * 0.6));
+                return random.nextInt(mediumCutoff);
 
             case GameConstants.AI_HARD:
-                int hardCutoff = Math.min(3, possibleMoves.size());
-                return possibleMoves.get(random.nextInt(hardCutoff));
+                int hardCutoff = Math.min(HARD_CANDIDATES, possibleMoves);
+                return random.nextInt(hardCutoff);
 
             default:
-                return possibleMoves.get(0);
+                return 0;
         }
     }
 
@@ -3,6 +3,7 @@ package controller;
 import javafx.application.Platform;
 import model.*;
 import service.DictionaryService;
+import utilities.SearchBudget;
 import utilities.WordFinder;
 import view.WordDefinitionView;
 import java.awt.Point;
@@ -12,12 +13,17 @@ import java.util.logging.Logger;
 
 public class GameController {
     private static final Logger logger = Logger.getLogger(GameController.class.getName());
+    private static final int MAX_HINTS = 15;
+    private static final long COMPUTER_SEARCH_MILLIS = 3000;
+    private static final long COMPUTER_MOVE_TIMEOUT_MILLIS = 5000;
+    private static final long COMPUTER_MOVE_DELAY_MILLIS = 1000;
 
     private final Game game;
     private final MoveHandler moveHandler;
     private final TilePlacer tilePlacer;
     private final Map<Player, ComputerPlayer> computerPlayers;
     private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
 
     private DictionaryService dictionaryService;
     private WordDefinitionView definitionDialog;
@@ -25,6 +31,8 @@ public class GameController {
 
     private boolean gameInProgress;
     private volatile boolean computerMoveInProgress;
+    private volatile SearchBudget computerSearch;
+    private volatile Future<?> computerSearchTask;
 
     private Runnable boardUpdateListener;
     private Runnable rackUpdateListener;
@@ -39,6 +47,7 @@ public class GameController {
         this.tilePlacer = new TilePlacer();
         this.computerPlayers = new HashMap<>();
         this.executor = Executors.newSingleThreadExecutor();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
         this.gameInProgress = false;
         this.computerMoveInProgress = false;
 
@@ -59,6 +68,12 @@ public class GameController {
         updateRack();
         updateCurrentPlayer();
         makeComputerMoveIfNeeded();
+
+        // Playing words, hints and cross-check highlights wait for the dictionary; refresh once it is in
+        game.whenDictionaryLoaded().thenRun(() -> {
+            updateBoard();
+            updateCurrentPlayer();
+        });
     }
 
     public void shutdown() {
@@ -66,6 +81,14 @@ public class GameController {
             definitionDialog.close();
         }
 
+        game.close();
+
+        SearchBudget search = computerSearch;
+        if (search != null) {
+            search.cancel();
+        }
+        scheduler.shutdownNow();
+
         executor.shutdown();
         try {
             if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
@@ -83,6 +106,13 @@ public class GameController {
             return false;
         }
 
+        // Checking a word would block this thread until the dictionary has loaded
+        if (move.getType() == Move.Type.PLACE && !game.isDictionaryReady()) {
+            logger.info("Dictionary still loading, place move not made");
+            return false;
+        }
+        awaitComputerSearch();
+
         boolean success = game.executeMove(move);
         if (success) {
             logger.info("Move executed: " + move.getType() + " by " + move.getPlayer().getName());
@@ -111,6 +141,12 @@ public class GameController {
     }
 
     public boolean commitPlacement() {
+        if (!game.isDictionaryReady()) {
+            logger.info("Dictionary still loading, placement not committed");
+            return false;
+        }
+        awaitComputerSearch();
+
         boolean success = moveHandler.commitPlacement();
         if (success) {
             updateBoard();
@@ -166,37 +202,54 @@ public class GameController {
                 return;
             }
 
-            ScheduledExecutorService emergencyTimer = setupEmergencyTimer(currentPlayer);
-            executeComputerMove(computerPlayer, currentPlayer, emergencyTimer);
+            // The budget and watchdog start once the dictionary has loaded, so a slow first load
+            // is not counted against the computer's search
+            game.whenDictionaryLoaded().whenComplete((dictionary, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    logger.severe("Dictionary failed to load, passing for " + currentPlayer.getName() + ": " +
+                            error.getMessage());
+                    computerMoveInProgress = false;
+                    makeMove(Move.createPassMove(currentPlayer));
+                    return;
+                }
+                if (scheduler.isShutdown()) {
+                    return;
+                }
+
+                SearchBudget budget = SearchBudget.withTimeout(COMPUTER_SEARCH_MILLIS, TimeUnit.MILLISECONDS);
+                computerSearch = budget;
+                ScheduledFuture<?> watchdog = scheduleWatchdog(currentPlayer, budget);
+                executeComputerMove(computerPlayer, currentPlayer, budget, watchdog);
+            }));
         }
     }
 
-    private ScheduledExecutorService setupEmergencyTimer(Player currentPlayer) {
-        ScheduledExecutorService emergencyTimer = Executors.newSingleThreadScheduledExecutor();
-        emergencyTimer.schedule(() -> {
-            if (computerMoveInProgress) {
-                logger.warning("Computer move taking too long - forcing PASS for " + currentPlayer.getName());
-                Platform.runLater(() -> {
-                    Move passMove = Move.createPassMove(currentPlayer);
-                    computerMoveInProgress = false;
-                    makeMove(passMove);
-                });
-            }
-        }, 5, TimeUnit.SECONDS);
-
-        return emergencyTimer;
+    // Forces a pass if the move has still not been made well after its search budget ran out
+    private ScheduledFuture<?> scheduleWatchdog(Player currentPlayer, SearchBudget budget) {
+        return scheduler.schedule(() -> {
+            budget.cancel();
+            logger.warning("Computer move taking too long - forcing PASS for " + currentPlayer.getName());
+            Platform.runLater(() -> {
+                Move passMove = Move.createPassMove(currentPlayer);
+                computerMoveInProgress = false;
+                makeMove(passMove);
+            });
+        }, COMPUTER_MOVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
     }
 
+    // A move arriving after the watchdog has fired is dropped, the turn having already been passed
     private void executeComputerMove(ComputerPlayer computerPlayer, Player currentPlayer,
-                                     ScheduledExecutorService emergencyTimer) {
-        executor.submit(() -> {
+                                     SearchBudget budget, ScheduledFuture<?> watchdog) {
+        computerSearchTask = executor.submit(() -> {
             try {
-                Move computerMove = computerPlayer.generateMove(game);
-                Thread.sleep(1000);
+                Move computerMove = computerPlayer.generateMove(game, budget);
 
-                emergencyTimer.shutdownNow();
+                // The search is over; the pause before playing is only so the move can be followed
+                scheduler.schedule(() -> Platform.runLater(() -> {
+                    if (!watchdog.cancel(false)) {
+                        return;
+                    }
 
-                Platform.runLater(() -> {
                     try {
                         computerMoveInProgress = false;
                         boolean success = makeMove(computerMove);
@@ -212,11 +265,14 @@ public class GameController {
                         Move passMove = Move.createPassMove(currentPlayer);
                         makeMove(passMove);
                     }
-                });
+                }), COMPUTER_MOVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
             } catch (Exception e) {
                 logger.severe("Error in computer move for " + currentPlayer.getName() + ": " + e.getMessage());
                 Platform.runLater(() -> {
-                    emergencyTimer.shutdownNow();
+                    if (!watchdog.cancel(false)) {
+                        return;
+                    }
+
                     computerMoveInProgress = false;
                     Move passMove = Move.createPassMove(currentPlayer);
                     makeMove(passMove);
@@ -225,6 +281,30 @@ public class GameController {
         });
     }
 
+    /**
+     * Waits for a computer search that is still reading the board, such as one the watchdog
+     * gave up on, so that moves never change the board under it (see {@link Board#pushTile}).
+     * Its budget is cancelled first, so it stops after the line it is on.
+     */
+    private void awaitComputerSearch() {
+        Future<?> search = computerSearchTask;
+        if (search == null || search.isDone()) {
+            return;
+        }
+
+        SearchBudget budget = computerSearch;
+        if (budget != null) {
+            budget.cancel();
+        }
+        try {
+            search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            logger.warning("Computer search ended abnormally: " + e.getMessage());
+        }
+    }
+
     // Tile placement and selection
     public boolean placeTileTemporarily(int rackIndex, int row, int col) {
         boolean success = moveHandler.placeTileTemporarily(rackIndex, row, col);
@@ -271,21 +351,21 @@ public class GameController {
     // Educational features
     public List<WordFinder.WordPlacement> generateHints() {
         Player currentPlayer = game.getCurrentPlayer();
-        if (currentPlayer.isComputer() || computerMoveInProgress) {
+        if (currentPlayer.isComputer() || computerMoveInProgress || !game.isDictionaryReady()) {
             return new ArrayList<>();
         }
 
         try {
-            WordFinder wordFinder = new WordFinder(game.getDictionary(), game.getBoard());
-            List<WordFinder.WordPlacement> placements = wordFinder.findAllPlacements(currentPlayer.getRack());
-            logger.info("Found " + placements.size() + " possible placements for hints");
+            WordFinder wordFinder = new WordFinder(game.getDictionary(), game.getBoard(), ForkJoinPool.commonPool(),
+                    game.getMoveCache());
+            List<WordFinder.WordPlacement> placements =
+                    wordFinder.findTopPlacements(currentPlayer.getRack(), MAX_HINTS);
+            logger.info("Found " + placements.size() + " placements for hints");
 
             if (placements.isEmpty()) {
                 return new ArrayList<>();
             }
 
-            placements.sort(Comparator.comparing(WordFinder.WordPlacement::getScore).reversed());
-
             int movesToLog = Math.min(3, placements.size());
             for (int i = 0; i < movesToLog; i++) {
                 WordFinder.WordPlacement placement = placements.get(i);
@@ -295,8 +375,7 @@ public class GameController {
                         placement.getDirection() == Move.Direction.HORIZONTAL ? "horizontal" : "vertical"));
             }
 
-            int maxHints = Math.min(15, placements.size());
-            return placements.subList(0, maxHints);
+            return placements;
         } catch (Exception e) {
             logger.severe("Error generating hints: " + e.getMessage());
             return new ArrayList<>();
@@ -350,6 +429,10 @@ public class GameController {
     }
 
     // Listener setters
+    public boolean isDictionaryReady() {
+        return game.isDictionaryReady();
+    }
+
     public void setBoardUpdateListener(Runnable listener) {
         this.boardUpdateListener = listener;
     }
@@ -403,6 +486,10 @@ public class GameController {
         return moveHandler.isValidTemporaryPlacement(row, col);
     }
 
+    public boolean conflictsWithCrossChecks(int row, int col) {
+        return moveHandler.conflictsWithCrossChecks(row, col);
+    }
+
     public Move.Direction determineDirection() {
         return moveHandler.determineDirection();
     }
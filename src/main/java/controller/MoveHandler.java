@@ -33,7 +33,7 @@ public class MoveHandler {
                 return false;
             }
 
-            if (game.getBoard().getSquare(row, col).hasTile() || hasTemporaryTileAt(row, col)) {
+            if (game.getBoard().hasTile(row, col) || hasTemporaryTileAt(row, col)) {
                 return false;
             }
 
@@ -79,7 +79,7 @@ public class MoveHandler {
     public boolean isValidTemporaryPlacement(int row, int col) {
         Board board = game.getBoard();
 
-        if (board.getSquare(row, col).hasTile() || hasTemporaryTileAt(row, col)) {
+        if (board.hasTile(row, col) || hasTemporaryTileAt(row, col)) {
             return false;
         }
 
@@ -94,6 +94,32 @@ public class MoveHandler {
         return Board.hasAdjacentTile(board, row, col);
     }
 
+    /**
+     * Whether the temporary tile at (row, col) forms an invalid perpendicular word, as far as the
+     * board's cross-checks tell. This is advisory, shown on the board as the tiles are laid;
+     * whether the move is accepted is decided by validation when it is played. Blanks without
+     * a letter yet and placements made while the dictionary loads report no conflict.
+     */
+    public boolean conflictsWithCrossChecks(int row, int col) {
+        Tile tile = getTemporaryTileAt(row, col);
+        if (tile == null || !game.isDictionaryReady()) {
+            return false;
+        }
+
+        char letter = Character.toUpperCase(tile.getLetter());
+        if (letter < 'A' || letter > 'Z') {
+            return false;
+        }
+
+        CrossCheckIndex crossChecks = game.getBoard().getCrossChecks(game.getDictionary().getGaddag());
+        Move.Direction direction = temporaryPlacements.size() > 1 ? determineDirection() : null;
+        if (direction != null) {
+            return !crossChecks.allows(row, col, direction, letter);
+        }
+        return !crossChecks.allows(row, col, Move.Direction.HORIZONTAL, letter) &&
+                !crossChecks.allows(row, col, Move.Direction.VERTICAL, letter);
+    }
+
     private boolean isValidDirectionalPlacement(int row, int col) {
         List<Point> placementPoints = new ArrayList<>(temporaryPlacements.keySet());
 
@@ -132,8 +158,8 @@ public class MoveHandler {
                 return true;
             }
 
-            return (col > 0 && board.getSquare(row, col - 1).hasTile()) ||
-                    (col < Board.SIZE - 1 && board.getSquare(row, col + 1).hasTile());
+            return (col > 0 && board.hasTile(row, col - 1)) ||
+                    (col < Board.SIZE - 1 && board.hasTile(row, col + 1));
         } else {
             for (Point p : placementPoints) {
                 if (p.y != col) {
@@ -152,8 +178,8 @@ public class MoveHandler {
                 return true;
             }
 
-            return (row > 0 && board.getSquare(row - 1, col).hasTile()) ||
-                    (row < Board.SIZE - 1 && board.getSquare(row + 1, col).hasTile());
+            return (row > 0 && board.hasTile(row - 1, col)) ||
+                    (row < Board.SIZE - 1 && board.hasTile(row + 1, col));
         }
     }
 
@@ -197,10 +223,10 @@ public class MoveHandler {
         int col = p.y;
         Board board = game.getBoard();
 
-        boolean hasHorizontalAdjacent = (col > 0 && board.getSquare(row, col - 1).hasTile()) ||
-                (col < Board.SIZE - 1 && board.getSquare(row, col + 1).hasTile());
-        boolean hasVerticalAdjacent = (row > 0 && board.getSquare(row - 1, col).hasTile()) ||
-                (row < Board.SIZE - 1 && board.getSquare(row + 1, col).hasTile());
+        boolean hasHorizontalAdjacent = (col > 0 && board.hasTile(row, col - 1)) ||
+                (col < Board.SIZE - 1 && board.hasTile(row, col + 1));
+        boolean hasVerticalAdjacent = (row > 0 && board.hasTile(row - 1, col)) ||
+                (row < Board.SIZE - 1 && board.hasTile(row + 1, col));
 
         if (hasHorizontalAdjacent && !hasVerticalAdjacent) {
             return Move.Direction.HORIZONTAL;
@@ -4,25 +4,116 @@ import utilities.GameConstants;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The game board. Its state is a letter code per square in a {@code byte[225]}, bitmaps for
+ * blanks and used premiums, and row and column occupancy masks, so a copy is a few array
+ * copies. Premium squares come from a static layout table. {@link Square} and {@link Tile}
+ * objects are made on demand as views for the UI; engine code reads the primitives directly.
+ * The letter, blank and premium arrays are also kept transposed, so that columns can be read
+ * as contiguous lines through {@link #getLines}.
+ */
 public class Board {
     public static final int SIZE = GameConstants.BOARD_SIZE;
-    private final Square[][] squares;
+    private static final int SQUARES = SIZE * SIZE;
+    private static final Square.SquareType[] PREMIUM_LAYOUT = createPremiumLayout(false);
+    private static final Square.SquareType[] TRANSPOSED_LAYOUT = createPremiumLayout(true);
+    private static final int[] LETTER_VALUES = createLetterValues();
+
+    // Indexed by row * SIZE + col; 0 for an empty square, otherwise letter - 'A' + 1
+    private final byte[] letters;
+    private final long[] blanks;
+    private final long[] premiumsUsed;
+
+    // The same indexed by col * SIZE + row
+    private final byte[] transposedLetters;
+    private final long[] transposedBlanks;
+    private final long[] transposedPremiumsUsed;
+
+    // Occupancy bitmasks, bit i of a row being column i and bit i of a column row i
+    private final int[] rowBits;
+    private final int[] colBits;
+    private int tileCount;
+
+    // Zobrist hash of the tiles on the board, kept up to date by placeTile and popTiles
+    private long hash;
+
+    private final LineView rows;
+    private final LineView columns;
+
+    private final int[] pushedSquares;
+    private int pushedCount;
+    private CrossCheckIndex crossChecks;
+
+    // Pushed tiles, counted from the bottom of the stack, that crossChecks has been refreshed for
+    private int indexedPushes;
 
     // Initialization
     public Board() {
-        squares = new Square[SIZE][SIZE];
-        initializeBoard();
+        letters = new byte[SQUARES];
+        blanks = new long[(SQUARES + 63) / 64];
+        premiumsUsed = new long[(SQUARES + 63) / 64];
+        transposedLetters = new byte[SQUARES];
+        transposedBlanks = new long[(SQUARES + 63) / 64];
+        transposedPremiumsUsed = new long[(SQUARES + 63) / 64];
+        rowBits = new int[SIZE];
+        colBits = new int[SIZE];
+        pushedSquares = new int[SQUARES];
+        rows = createRows();
+        columns = createColumns();
+    }
+
+    // Tiles pushed on the original stay on the copy as placed tiles
+    private Board(Board other) {
+        letters = new byte[SQUARES];
+        System.arraycopy(other.letters, 0, letters, 0, SQUARES);
+        blanks = other.blanks.clone();
+        premiumsUsed = other.premiumsUsed.clone();
+        transposedLetters = new byte[SQUARES];
+        System.arraycopy(other.transposedLetters, 0, transposedLetters, 0, SQUARES);
+        transposedBlanks = other.transposedBlanks.clone();
+        transposedPremiumsUsed = other.transposedPremiumsUsed.clone();
+        rowBits = other.rowBits.clone();
+        colBits = other.colBits.clone();
+        tileCount = other.tileCount;
+        hash = other.hash;
+        pushedSquares = new int[SQUARES];
+        rows = createRows();
+        columns = createColumns();
+    }
+
+    private LineView createRows() {
+        return new LineView(Move.Direction.HORIZONTAL, letters, blanks, premiumsUsed, PREMIUM_LAYOUT, rowBits);
     }
 
-    private void initializeBoard() {
+    private LineView createColumns() {
+        return new LineView(Move.Direction.VERTICAL, transposedLetters, transposedBlanks,
+                transposedPremiumsUsed, TRANSPOSED_LAYOUT, colBits);
+    }
+
+    private static Square.SquareType[] createPremiumLayout(boolean transposed) {
+        Square.SquareType[] layout = new Square.SquareType[SQUARES];
         for (int row = 0; row < SIZE; row++) {
             for (int col = 0; col < SIZE; col++) {
-                squares[row][col] = new Square(row, col, getSquareTypeFor(row, col));
+                layout[transposed ? col * SIZE + row : row * SIZE + col] = getSquareTypeFor(row, col);
             }
         }
+        return layout;
+    }
+
+    // Face value of a letter code as stored in the board arrays
+    static int getLetterValue(int code) {
+        return LETTER_VALUES[code - 1];
     }
 
-    private Square.SquareType getSquareTypeFor(int row, int col) {
+    private static int[] createLetterValues() {
+        int[] values = new int[26];
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            values[letter - 'A'] = TileBag.getLetterValue(letter);
+        }
+        return values;
+    }
+
+    private static Square.SquareType getSquareTypeFor(int row, int col) {
         if (row == GameConstants.CENTER_SQUARE && col == GameConstants.CENTER_SQUARE) {
             return Square.SquareType.CENTER;
         }
@@ -56,45 +147,238 @@ public class Board {
 
     // Board state accessors and modifiers
     public Square getSquare(int row, int col) {
+        checkPosition(row, col);
+        return new Square(this, row, col);
+    }
+
+    private static void checkPosition(int row, int col) {
         if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
             throw new IndexOutOfBoundsException("Invalid position: (" + row + ", " + col + ")");
         }
-        return squares[row][col];
     }
 
-    public void placeTile(int row, int col, Tile tile) {
-        Square square = getSquare(row, col);
-        if (!square.hasTile()) {
-            square.setTile(tile);
+    public boolean hasTile(int row, int col) {
+        checkPosition(row, col);
+        return letters[row * SIZE + col] != 0;
+    }
+
+    // Letter on the square, or 0 if it is empty
+    public char getLetter(int row, int col) {
+        checkPosition(row, col);
+        int code = letters[row * SIZE + col];
+        return code == 0 ? 0 : (char) ('A' + code - 1);
+    }
+
+    public boolean isBlank(int row, int col) {
+        checkPosition(row, col);
+        return isSet(blanks, row * SIZE + col);
+    }
+
+    // Face value of the tile on the square, 0 for a blank or an empty square
+    public int getTileValue(int row, int col) {
+        checkPosition(row, col);
+        int index = row * SIZE + col;
+        int code = letters[index];
+        return code == 0 || isSet(blanks, index) ? 0 : LETTER_VALUES[code - 1];
+    }
+
+    // A new tile matching the one on the square, or null if it is empty
+    public Tile getTile(int row, int col) {
+        char letter = getLetter(row, col);
+        if (letter == 0) {
+            return null;
         }
+        return isBlank(row, col) ? Tile.createBlankTile(letter) : new Tile(letter, LETTER_VALUES[letter - 'A']);
     }
 
-    public boolean isEmpty() {
-        for (int row = 0; row < SIZE; row++) {
-            for (int col = 0; col < SIZE; col++) {
-                if (squares[row][col].hasTile()) {
-                    return false;
-                }
+    public Square.SquareType getSquareType(int row, int col) {
+        checkPosition(row, col);
+        return PREMIUM_LAYOUT[row * SIZE + col];
+    }
+
+    public boolean isPremiumUsed(int row, int col) {
+        checkPosition(row, col);
+        return isSet(premiumsUsed, row * SIZE + col);
+    }
+
+    public void usePremium(int row, int col) {
+        checkPosition(row, col);
+        int index = row * SIZE + col;
+        premiumsUsed[index >>> 6] |= 1L << index;
+        int transposed = col * SIZE + row;
+        transposedPremiumsUsed[transposed >>> 6] |= 1L << transposed;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Puts the tile on the square if it is empty, and leaves an occupied square as it is. The
+     * board stores letter codes rather than tiles, so a tile with no letter, such as a blank
+     * that has not been assigned one, is rejected with an IllegalArgumentException.
+     */
+    public void placeTile(int row, int col, Tile tile) {
+        if (hasTile(row, col)) {
+            return;
+        }
+
+        putTile(row, col, tile);
+        if (crossChecks != null) {
+            // Catch up with pushed tiles first so the index again describes the whole board
+            for (; indexedPushes < pushedCount; indexedPushes++) {
+                int index = pushedSquares[indexedPushes];
+                crossChecks.squareChanged(index / SIZE, index % SIZE);
             }
+            crossChecks.squareChanged(row, col);
+        }
+    }
+
+    private void putTile(int row, int col, Tile tile) {
+        char letter = Character.toUpperCase(tile.getLetter());
+        if (letter < 'A' || letter > 'Z') {
+            throw new IllegalArgumentException("Cannot place tile without a letter: " + tile);
+        }
+
+        int index = row * SIZE + col;
+        int transposed = col * SIZE + row;
+        letters[index] = (byte) (letter - 'A' + 1);
+        transposedLetters[transposed] = letters[index];
+        if (tile.isBlank()) {
+            blanks[index >>> 6] |= 1L << index;
+            transposedBlanks[transposed >>> 6] |= 1L << transposed;
         }
+        rowBits[row] |= 1 << col;
+        colBits[col] |= 1 << row;
+        tileCount++;
+        hash ^= Zobrist.squareKey(index, letters[index], tile.isBlank());
+    }
+
+    /**
+     * Tentative placement: pushed tiles are taken off again, most recent first, by popTiles, so
+     * a candidate move can be checked and scored on this board without copying it. Pushing and
+     * popping leave the cross-checks alone, see getCrossChecks. Tiles are checked as in
+     * placeTile.
+     *
+     * Like placeTile this changes the board in place, so the caller must have it to itself: no
+     * move search may be reading it. GameController ensures this by waiting for any computer
+     * search in flight before a move is made.
+     */
+    public boolean pushTile(int row, int col, Tile tile) {
+        if (hasTile(row, col)) {
+            return false;
+        }
+
+        putTile(row, col, tile);
+        pushedSquares[pushedCount++] = row * SIZE + col;
         return true;
     }
 
+    public void popTiles(int count) {
+        if (count > pushedCount) {
+            throw new IllegalStateException("Cannot pop " + count + " of " + pushedCount + " pushed tiles");
+        }
+
+        for (int i = 0; i < count; i++) {
+            int index = pushedSquares[--pushedCount];
+            int row = index / SIZE;
+            int col = index % SIZE;
+            int transposed = col * SIZE + row;
+            hash ^= Zobrist.squareKey(index, letters[index], isSet(blanks, index));
+            letters[index] = 0;
+            blanks[index >>> 6] &= ~(1L << index);
+            transposedLetters[transposed] = 0;
+            transposedBlanks[transposed >>> 6] &= ~(1L << transposed);
+            rowBits[row] &= ~(1 << col);
+            colBits[col] &= ~(1 << row);
+            tileCount--;
+            if (crossChecks != null && pushedCount < indexedPushes) {
+                crossChecks.squareChanged(row, col);
+                indexedPushes = pushedCount;
+            }
+        }
+    }
+
+    public int getPushedCount() {
+        return pushedCount;
+    }
+
+    /**
+     * Cross-checks against the given lexicon, built on first use and kept current by placeTile.
+     * Tiles pushed since the index was built or last caught up by placeTile are not reflected
+     * in it, so checking and scoring candidates never refreshes it.
+     */
+    public CrossCheckIndex getCrossChecks(Gaddag gaddag) {
+        if (crossChecks == null || crossChecks.getGaddag() != gaddag) {
+            crossChecks = new CrossCheckIndex(gaddag, this);
+            indexedPushes = pushedCount;
+        }
+        return crossChecks;
+    }
+
+    public boolean isEmpty() {
+        return tileCount == 0;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    // Hashing
+    /**
+     * Zobrist hash of the tiles on the board. Boards with the same tiles on the same squares
+     * hash equally however they got there; used premiums are not included, since a premium is
+     * only used once a tile is on it.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    // Key of this board with rack to play from it, for caches of move lists and decisions
+    public long positionKey(Rack rack) {
+        return hash ^ rack.getMultisetHash();
+    }
+
+    // Occupancy
+    public int getRowOccupancy(int row) {
+        return rowBits[row];
+    }
+
+    public int getColumnOccupancy(int col) {
+        return colBits[col];
+    }
+
+    // Rows for HORIZONTAL, columns for VERTICAL
+    public LineView getLines(Move.Direction direction) {
+        return direction == Move.Direction.HORIZONTAL ? rows : columns;
+    }
+
+    /**
+     * Anchors of a row (horizontal) or column (vertical) as a bitmask: the empty squares with
+     * an occupied neighbour along or across the line, or only the center on an empty board.
+     */
+    public int getAnchors(Move.Direction direction, int line) {
+        if (tileCount == 0) {
+            return line == GameConstants.CENTER_SQUARE ? 1 << GameConstants.CENTER_SQUARE : 0;
+        }
+        return getLines(direction).getAnchors(line);
+    }
+
     // Word finding methods
     public List<Square> getHorizontalWord(int row, int col) {
         List<Square> word = new ArrayList<>();
 
-        if (!getSquare(row, col).hasTile()) {
+        if (!hasTile(row, col)) {
             return word;
         }
 
         int startCol = col;
-        while (startCol > 0 && getSquare(row, startCol - 1).hasTile()) {
+        while (startCol > 0 && hasTile(row, startCol - 1)) {
             startCol--;
         }
 
         int currentCol = startCol;
-        while (currentCol < SIZE && getSquare(row, currentCol).hasTile()) {
+        while (currentCol < SIZE && hasTile(row, currentCol)) {
             word.add(getSquare(row, currentCol));
             currentCol++;
         }
@@ -105,17 +389,17 @@ public class Board {
     public List<Square> getVerticalWord(int row, int col) {
         List<Square> word = new ArrayList<>();
 
-        if (!getSquare(row, col).hasTile()) {
+        if (!hasTile(row, col)) {
             return word;
         }
 
         int startRow = row;
-        while (startRow > 0 && getSquare(startRow - 1, col).hasTile()) {
+        while (startRow > 0 && hasTile(startRow - 1, col)) {
             startRow--;
         }
 
         int currentRow = startRow;
-        while (currentRow < SIZE && getSquare(currentRow, col).hasTile()) {
+        while (currentRow < SIZE && hasTile(currentRow, col)) {
             word.add(getSquare(currentRow, col));
             currentRow++;
         }
@@ -127,19 +411,19 @@ public class Board {
     public List<Square> getAdjacentOccupiedSquares(int row, int col) {
         List<Square> adjacent = new ArrayList<>();
 
-        if (row > 0 && getSquare(row - 1, col).hasTile()) {
+        if (row > 0 && hasTile(row - 1, col)) {
             adjacent.add(getSquare(row - 1, col));
         }
 
-        if (row < SIZE - 1 && getSquare(row + 1, col).hasTile()) {
+        if (row < SIZE - 1 && hasTile(row + 1, col)) {
             adjacent.add(getSquare(row + 1, col));
         }
 
-        if (col > 0 && getSquare(row, col - 1).hasTile()) {
+        if (col > 0 && hasTile(row, col - 1)) {
             adjacent.add(getSquare(row, col - 1));
         }
 
-        if (col < SIZE - 1 && getSquare(row, col + 1).hasTile()) {
+        if (col < SIZE - 1 && hasTile(row, col + 1)) {
             adjacent.add(getSquare(row, col + 1));
         }
 
@@ -147,7 +431,9 @@ public class Board {
     }
 
     public boolean hasAdjacentTile(int row, int col) {
-        return !getAdjacentOccupiedSquares(row, col).isEmpty();
+        checkPosition(row, col);
+        return (((rowBits[row] << 1) | (rowBits[row] >>> 1)) & (1 << col)) != 0 ||
+                (((colBits[col] << 1) | (colBits[col] >>> 1)) & (1 << row)) != 0;
     }
 
     public static boolean hasAdjacentTile(Board board, int row, int col) {
@@ -155,17 +441,15 @@ public class Board {
     }
 
     // Utility methods
+    /**
+     * A full copy of this board. This is one arraycopy per array rather than a single one: the
+     * transposed arrays and occupancy masks are what let columns be read as contiguous lines,
+     * and they are copied alongside the letters, so a copy is about 700 bytes in eight
+     * copies. Callers that need many variants of a position should use {@link BoardSnapshot},
+     * which shares the rows a move leaves alone.
+     */
     public Board copy() {
-        Board copy = new Board();
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                Square square = getSquare(r, c);
-                if (square.hasTile()) {
-                    copy.placeTile(r, c, square.getTile());
-                }
-            }
-        }
-        return copy;
+        return new Board(this);
     }
 
     public static Board copyBoard(Board originalBoard) {
@@ -185,11 +469,10 @@ public class Board {
         for (int row = 0; row < SIZE; row++) {
             sb.append(String.format("%2d ", row + 1));
             for (int col = 0; col < SIZE; col++) {
-                Square square = squares[row][col];
-                if (square.hasTile()) {
-                    sb.append(" ").append(square.getTile().getLetter()).append(" ");
+                if (hasTile(row, col)) {
+                    sb.append(" ").append(getLetter(row, col)).append(" ");
                 } else {
-                    String label = square.getSquareType().getLabel();
+                    String label = getSquareType(row, col).getLabel();
                     sb.append(" ").append(label.isEmpty() ? "·" : label).append(" ");
                 }
             }
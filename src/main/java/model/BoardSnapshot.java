@@ -0,0 +1,178 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable board position for lookahead and analysis. Each row is its own small array and
+ * {@link #with(Move)} copies only the rows a move touches, sharing the rest with the parent,
+ * so a variant costs a few dozen bytes per tile row and thousands of them fit in memory at
+ * once. A snapshot has the same Zobrist hash as a {@link Board} holding the same tiles, and
+ * {@link #toBoard} turns it back into a board for move generation and scoring.
+ */
+public final class BoardSnapshot {
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(new byte[Board.SIZE][Board.SIZE], 0, 0);
+
+    private static final int SIZE = Board.SIZE;
+    private static final int BLANK_FLAG = 0x40;
+    private static final int CODE_MASK = 0x1F;
+
+    // Per row, 0 for an empty square, otherwise letter - 'A' + 1, with BLANK_FLAG for blanks;
+    // row arrays are shared between snapshots and never written once published
+    private final byte[][] rows;
+    private final int tileCount;
+    private final long hash;
+
+    private BoardSnapshot(byte[][] rows, int tileCount, long hash) {
+        this.rows = rows;
+        this.tileCount = tileCount;
+        this.hash = hash;
+    }
+
+    public static BoardSnapshot of(Board board) {
+        byte[][] rows = new byte[SIZE][SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                char letter = board.getLetter(row, col);
+                if (letter != 0) {
+                    rows[row][col] = encode(letter, board.isBlank(row, col));
+                }
+            }
+        }
+        return new BoardSnapshot(rows, board.getTileCount(), board.getHash());
+    }
+
+    // Derived positions
+    /**
+     * The position after the tiles of a place move are put down, filling empty squares from
+     * the move's start as the game does. The move is not validated. Other moves leave the
+     * board unchanged and return this snapshot.
+     */
+    public BoardSnapshot with(Move move) {
+        if (move.getType() != Move.Type.PLACE || move.getTiles().isEmpty()) {
+            return this;
+        }
+
+        byte[][] newRows = rows.clone();
+        boolean[] copied = new boolean[SIZE];
+        int newCount = tileCount;
+        long newHash = hash;
+
+        Move.Direction direction = move.getDirection();
+        int line = direction.lineOf(move.getStartRow(), move.getStartCol());
+        int pos = direction.positionOf(move.getStartRow(), move.getStartCol());
+        for (Tile tile : move.getTiles()) {
+            while (pos < SIZE && newRows[direction.rowAt(line, pos)][direction.colAt(line, pos)] != 0) {
+                pos++;
+            }
+            if (pos >= SIZE) {
+                throw new IllegalArgumentException("Move runs off the board: " + move);
+            }
+            int row = direction.rowAt(line, pos);
+            int col = direction.colAt(line, pos);
+            pos++;
+
+            char letter = Character.toUpperCase(tile.getLetter());
+            if (letter < 'A' || letter > 'Z') {
+                throw new IllegalArgumentException("Cannot place tile without a letter: " + tile);
+            }
+
+            // Path copying: a row is copied the first time this move writes to it
+            if (!copied[row]) {
+                newRows[row] = newRows[row].clone();
+                copied[row] = true;
+            }
+            newRows[row][col] = encode(letter, tile.isBlank());
+            newCount++;
+            newHash ^= Zobrist.squareKey(row * SIZE + col, letter - 'A' + 1, tile.isBlank());
+        }
+
+        return new BoardSnapshot(newRows, newCount, newHash);
+    }
+
+    /**
+     * A mutable board with this position's tiles, their premiums marked used as they would be
+     * in a game.
+     */
+    public Board toBoard() {
+        Board board = new Board();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (rows[row][col] != 0) {
+                    board.placeTile(row, col, getTile(row, col));
+                    board.usePremium(row, col);
+                }
+            }
+        }
+        return board;
+    }
+
+    // Accessors
+    public boolean hasTile(int row, int col) {
+        return rows[row][col] != 0;
+    }
+
+    // Letter on the square, or 0 if it is empty
+    public char getLetter(int row, int col) {
+        int code = rows[row][col] & CODE_MASK;
+        return code == 0 ? 0 : (char) ('A' + code - 1);
+    }
+
+    public boolean isBlank(int row, int col) {
+        return (rows[row][col] & BLANK_FLAG) != 0;
+    }
+
+    // A new tile matching the one on the square, or null if it is empty
+    public Tile getTile(int row, int col) {
+        int code = rows[row][col] & CODE_MASK;
+        if (code == 0) {
+            return null;
+        }
+        char letter = (char) ('A' + code - 1);
+        return isBlank(row, col) ? Tile.createBlankTile(letter) : new Tile(letter, Board.getLetterValue(code));
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    public boolean isEmpty() {
+        return tileCount == 0;
+    }
+
+    // Zobrist hash, equal to Board.getHash for a board with the same tiles
+    public long getHash() {
+        return hash;
+    }
+
+    public long positionKey(Rack rack) {
+        return hash ^ rack.getMultisetHash();
+    }
+
+    // Whether both snapshots hold the same array for the row, rather than equal copies
+    boolean sharesRow(BoardSnapshot other, int row) {
+        return rows[row] == other.rows[row];
+    }
+
+    private static byte encode(char letter, boolean blank) {
+        return (byte) ((letter - 'A' + 1) | (blank ? BLANK_FLAG : 0));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        BoardSnapshot other = (BoardSnapshot) obj;
+        if (hash != other.hash || tileCount != other.tileCount) return false;
+        for (int row = 0; row < SIZE; row++) {
+            if (rows[row] != other.rows[row] && !Arrays.equals(rows[row], other.rows[row])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+}
@@ -0,0 +1,175 @@
+package model;
+
+/**
+ * Cross-checks for every square of a {@link Board}. For each play direction it keeps a 26-bit
+ * mask of the letters that would form a valid perpendicular word on the square, and the face
+ * value of that word's existing tiles. The index is built once per lexicon and then refreshed
+ * by the board for the at most five squares a placed or removed tile can affect, so move
+ * generation and live validation read it instead of rescanning the board.
+ */
+public final class CrossCheckIndex {
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+    public static final int NO_CROSS_WORD = -1;
+
+    private static final int SIZE = Board.SIZE;
+
+    private final Gaddag gaddag;
+    private final Board board;
+
+    // Indexed by direction ordinal, then line * SIZE + position in that direction's LineView
+    private final int[][] masks;
+    private final int[][] scores;
+
+    CrossCheckIndex(Gaddag gaddag, Board board) {
+        this.gaddag = gaddag;
+        this.board = board;
+        this.masks = new int[2][SIZE * SIZE];
+        this.scores = new int[2][SIZE * SIZE];
+
+        for (Move.Direction direction : Move.Direction.values()) {
+            for (int line = 0; line < SIZE; line++) {
+                for (int pos = 0; pos < SIZE; pos++) {
+                    update(direction, line, pos);
+                }
+            }
+        }
+    }
+
+    // Accessors
+    public Gaddag getGaddag() {
+        return gaddag;
+    }
+
+    /**
+     * Letters that may be played on an empty square by a word running in {@code direction}.
+     * Occupied squares allow nothing.
+     */
+    public int getCrossCheck(int row, int col, Move.Direction direction) {
+        return masks[direction.ordinal()][index(row, col, direction)];
+    }
+
+    // Face value of the perpendicular word's existing tiles, or NO_CROSS_WORD if there is none
+    public int getCrossScore(int row, int col, Move.Direction direction) {
+        return scores[direction.ordinal()][index(row, col, direction)];
+    }
+
+    public boolean allows(int row, int col, Move.Direction direction, char letter) {
+        char c = Character.toUpperCase(letter);
+        return c >= 'A' && c <= 'Z' && (getCrossCheck(row, col, direction) & (1 << (c - 'A'))) != 0;
+    }
+
+    // Cross-checks and scores of a whole line of direction's LineView, copied into SIZE-long arrays
+    public void copyLine(Move.Direction direction, int line, int[] lineMasks, int[] lineScores) {
+        System.arraycopy(masks[direction.ordinal()], line * SIZE, lineMasks, 0, SIZE);
+        System.arraycopy(scores[direction.ordinal()], line * SIZE, lineScores, 0, SIZE);
+    }
+
+    private static int index(int row, int col, Move.Direction direction) {
+        return direction == Move.Direction.HORIZONTAL ? row * SIZE + col : col * SIZE + row;
+    }
+
+    // Incremental maintenance, after a tile is placed on or removed from (row, col)
+    void squareChanged(int row, int col) {
+        for (Move.Direction direction : Move.Direction.values()) {
+            LineView lines = board.getLines(direction);
+            int line = lines.lineOf(row, col);
+            int pos = lines.positionOf(row, col);
+            update(direction, line, pos);
+
+            // Plays in this direction are checked against the perpendicular line through the
+            // square, so only the squares just past that line's run next to the square change
+            int start = pos;
+            while (start > 0 && lines.hasTile(line, start - 1)) {
+                start--;
+            }
+            int end = pos;
+            while (end < SIZE - 1 && lines.hasTile(line, end + 1)) {
+                end++;
+            }
+            if (start > 0) {
+                update(direction.perpendicular(), start - 1, line);
+            }
+            if (end < SIZE - 1) {
+                update(direction.perpendicular(), end + 1, line);
+            }
+        }
+    }
+
+    // Square at pos of line in direction's LineView; the perpendicular word through it lies
+    // along line pos of the perpendicular view, at position line
+    private void update(Move.Direction direction, int line, int pos) {
+        int d = direction.ordinal();
+        int index = line * SIZE + pos;
+        LineView cross = board.getLines(direction.perpendicular());
+
+        if (cross.hasTile(pos, line)) {
+            masks[d][index] = 0;
+            scores[d][index] = NO_CROSS_WORD;
+            return;
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        int value = 0;
+        for (int p = line - 1; p >= 0 && cross.hasTile(pos, p); p--) {
+            prefix.append(cross.getLetter(pos, p));
+            value += cross.getTileValue(pos, p);
+        }
+        prefix.reverse();
+
+        StringBuilder suffix = new StringBuilder();
+        for (int p = line + 1; p < SIZE && cross.hasTile(pos, p); p++) {
+            suffix.append(cross.getLetter(pos, p));
+            value += cross.getTileValue(pos, p);
+        }
+
+        if (prefix.length() == 0 && suffix.length() == 0) {
+            masks[d][index] = ALL_LETTERS;
+            scores[d][index] = NO_CROSS_WORD;
+        } else {
+            masks[d][index] = computeMask(prefix, suffix);
+            scores[d][index] = value;
+        }
+    }
+
+    // Letters that complete prefix + letter + suffix as a word, found by walking
+    // REV(prefix) + DELIMITER once and then trying the suffix under each remaining arc
+    private int computeMask(CharSequence prefix, CharSequence suffix) {
+        int node = gaddag.getRootNode();
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            int arc = gaddag.findArc(node, prefix.charAt(i));
+            if (arc < 0) {
+                return 0;
+            }
+            node = gaddag.getChildNode(arc);
+        }
+
+        int delimiter = gaddag.findArc(node, Gaddag.DELIMITER);
+        if (delimiter < 0) {
+            return 0;
+        }
+        node = gaddag.getChildNode(delimiter);
+        if (node == Gaddag.NO_NODE) {
+            return 0;
+        }
+
+        int mask = 0;
+        for (int arc = node; ; arc++) {
+            if (completesWord(arc, suffix)) {
+                mask |= 1 << (gaddag.getArcLetter(arc) - 'A');
+            }
+            if (gaddag.isLastArc(arc)) {
+                return mask;
+            }
+        }
+    }
+
+    private boolean completesWord(int arc, CharSequence suffix) {
+        for (int i = 0; i < suffix.length(); i++) {
+            arc = gaddag.findArc(gaddag.getChildNode(arc), suffix.charAt(i));
+            if (arc < 0) {
+                return false;
+            }
+        }
+        return gaddag.isTerminalArc(arc);
+    }
+}
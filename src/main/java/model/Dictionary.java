@@ -3,37 +3,98 @@ package model;
 import utilities.GameConstants;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Dictionary {
+    private static final Logger logger = Logger.getLogger(Dictionary.class.getName());
+
     private final Gaddag gaddag;
-    private final Set<String> wordSet;
     private final String dictionaryName;
+    private final int wordCount;
 
     // Constructor and initialization
     public Dictionary(InputStream inputStream, String name) throws IOException {
-        this.gaddag = new Gaddag();
-        this.wordSet = new HashSet<>();
+        this(inputStream, name, false);
+    }
+
+    /**
+     * Loads a word list and builds its GADDAG, optionally spreading the build across the
+     * common ForkJoin pool; worthwhile for large or custom lists loaded at runtime.
+     */
+    public Dictionary(InputStream inputStream, String name, boolean parallelBuild) throws IOException {
         this.dictionaryName = name;
 
-        loadWords(inputStream);
-        System.out.println("Loaded dictionary '" + dictionaryName + "' with " + wordSet.size() + " words");
+        // The word list is only needed while building; the GADDAG keeps its own packed word index
+        List<String> words = loadWords(inputStream);
+        this.gaddag = parallelBuild ?
+                Gaddag.buildParallel(words, ForkJoinPool.commonPool()) :
+                Gaddag.build(words);
+        this.wordCount = gaddag.getWordIndex().size();
+        System.out.println("Loaded dictionary '" + dictionaryName + "' with " + wordCount + " words");
     }
 
-    private void loadWords(InputStream inputStream) throws IOException {
+    // Used by LexiconFile for dictionaries backed by an already compiled GADDAG
+    Dictionary(Gaddag gaddag, String name, int wordCount) {
+        this.gaddag = gaddag;
+        this.dictionaryName = name;
+        this.wordCount = wordCount;
+    }
+
+    private List<String> loadWords(InputStream inputStream) throws IOException {
+        List<String> words = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 line = line.trim().toUpperCase();
                 if (!line.isEmpty()) {
-                    wordSet.add(line);
-                    gaddag.insert(line);
+                    words.add(line);
                 }
             }
         }
+        return words;
     }
 
     // Static loading methods
+    public static Dictionary loadDefault() throws IOException {
+        return loadCompiled(GameConstants.DEFAULT_DICTIONARY, GameConstants.DEFAULT_LEXICON, "Dictionary");
+    }
+
+    /**
+     * Opens the compiled lexicon at {@code lexiconPath}, rebuilding it from the word list at
+     * {@code wordListPath} when it is missing, older than the word list, or unreadable.
+     */
+    public static Dictionary loadCompiled(String wordListPath, String lexiconPath, String name) throws IOException {
+        Path lexicon = Paths.get(lexiconPath);
+        File wordList = new File(wordListPath);
+
+        boolean stale = wordList.isFile() && Files.isRegularFile(lexicon) &&
+                Files.getLastModifiedTime(lexicon).toMillis() < wordList.lastModified();
+
+        if (Files.isRegularFile(lexicon) && !stale) {
+            try {
+                Dictionary dictionary = LexiconFile.open(lexicon, name);
+                logger.info("Mapped dictionary '" + name + "' with " + dictionary.getWordCount() + " words");
+                return dictionary;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Rebuilding unreadable lexicon " + lexicon, e);
+            }
+        }
+
+        Dictionary dictionary = new Dictionary(loadFile(wordListPath), name, true);
+        try {
+            LexiconFile.write(dictionary, lexicon);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not write lexicon " + lexicon, e);
+        }
+        return dictionary;
+    }
+
     public static InputStream loadDefaultDictionary() throws IOException {
         return loadFile(GameConstants.DEFAULT_DICTIONARY);
     }
@@ -62,4 +123,8 @@ public class Dictionary {
     public Gaddag getGaddag() {
         return gaddag;
     }
-}
\ No newline at end of file
+
+    public int getWordCount() {
+        return wordCount;
+    }
+}
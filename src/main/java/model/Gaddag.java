@@ -1,53 +1,289 @@
 package model;
 
 import java.awt.*;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Enhanced GADDAG data structure for efficient word lookup and validation in Scrabble.
+ * Words are inserted into a mutable trie; {@link #compile()} then packs the trie into a flat
+ * run of int arcs in an off-heap {@link MemorySegment} and discards it, so the lexicon stays
+ * out of GC scanning and a file-mapped segment can be shared between games and processes. Each node is a run of arcs sorted by letter code,
+ * the last one flagged, and every arc packs its letter, an end-of-word bit and the index
+ * of its child's run. Compilation is minimizing: identical subtrees are emitted once and
+ * shared, so the packed form is a DAWG-style graph rather than a tree.
  */
 public class Gaddag {
-    private static final char DELIMITER = '+';
-    private final Node root;
+    public static final char DELIMITER = '+';
+
+    // Packed arc layout
+    private static final int DELIMITER_CODE = 26;
+    private static final int LETTER_MASK = 0x1F;
+    private static final int TERMINAL_BIT = 1 << 5;
+    private static final int LAST_ARC_BIT = 1 << 6;
+    private static final int CHILD_SHIFT = 7;
+    private static final int MAX_ARCS = 1 << (32 - CHILD_SHIFT);
+    public static final int NO_NODE = 0;
+    static final ValueLayout.OfInt ARC_LAYOUT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private Node root;
+    private MemorySegment arcs;
+    private int arcCount;
+    private int rootIndex;
+    private PackedWordSet wordIndex;
 
     // Initialization
     public Gaddag() {
         this.root = new Node();
     }
 
+    // Wraps already compiled arcs, e.g. a region mapped from a lexicon file
+    Gaddag(MemorySegment arcs, int rootIndex, PackedWordSet wordIndex) {
+        this.root = null;
+        this.arcs = arcs.asReadOnly();
+        this.arcCount = (int) (arcs.byteSize() / ARC_LAYOUT.byteSize());
+        this.rootIndex = rootIndex;
+        this.wordIndex = wordIndex;
+
+        if (rootIndex < 0 || rootIndex >= arcCount) {
+            throw new IllegalArgumentException("Root index " + rootIndex + " outside " + arcCount + " arcs");
+        }
+    }
+
     // Word insertion methods
     public void insert(String word) {
+        if (isCompiled()) {
+            throw new IllegalStateException("Cannot insert into a compiled GADDAG");
+        }
+
         word = word.toUpperCase();
 
         if (word.length() < 2) {
             return;
         }
 
-        for (int i = 0; i < word.length(); i++) {
-            StringBuilder sequence = new StringBuilder();
+        for (int split = 0; split <= word.length(); split++) {
+            insertRotation(root, word, split, 0);
+        }
+    }
+
+    // Sequence for a split is REV(word[0, split)) + DELIMITER + word[split, length); every split
+    // from 0 to length is inserted so that any letter of the word can serve as the anchor
+    private static char rotationCharAt(String word, int split, int position) {
+        if (position < split) {
+            return word.charAt(split - 1 - position);
+        }
+        return position == split ? DELIMITER : word.charAt(position - 1);
+    }
+
+    private static void insertRotation(Node node, String word, int split, int from) {
+        for (int position = from; position <= word.length(); position++) {
+            node = node.getOrCreateChild(rotationCharAt(word, split, position));
+        }
+        node.setWord(true);
+    }
 
-            for (int j = i; j > 0; j--) {
-                sequence.append(word.charAt(j - 1));
+    // Builders; unlike insert/compile these also index the words for exact lookups
+    public static Gaddag build(Collection<String> words) {
+        Gaddag gaddag = new Gaddag();
+        for (String word : words) {
+            gaddag.insert(word);
+        }
+        gaddag.compile();
+        gaddag.wordIndex = PackedWordSet.of(words);
+        return gaddag;
+    }
+
+    /**
+     * Builds and compiles a GADDAG on {@code pool}. Rotated sequences are partitioned by their
+     * first arc, each partition's subtree is built by its own task and stitched under the root,
+     * and the subtrees are then packed concurrently against a shared minimization register.
+     */
+    public static Gaddag buildParallel(Collection<String> words, ForkJoinPool pool) {
+        List<String> normalized = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word.length() >= 2) {
+                normalized.add(word.toUpperCase());
             }
+        }
 
-            sequence.append(DELIMITER);
-            sequence.append(word.substring(i));
-            insertSequence(sequence.toString());
+        List<ForkJoinTask<Node>> partitions = new ArrayList<>();
+        for (int code = 0; code <= DELIMITER_CODE; code++) {
+            char first = charOf(code);
+            partitions.add(pool.submit(() -> buildPartition(normalized, first)));
         }
 
-        insertSequence(DELIMITER + word);
+        Gaddag gaddag = new Gaddag();
+        for (int code = 0; code <= DELIMITER_CODE; code++) {
+            Node partition = partitions.get(code).join();
+            if (!partition.getChildren().isEmpty()) {
+                gaddag.root.setChild(charOf(code), partition);
+            }
+        }
+
+        ForkJoinTask<PackedWordSet> index = pool.submit(() -> PackedWordSet.of(normalized));
+        gaddag.compile(pool);
+        gaddag.wordIndex = index.join();
+        return gaddag;
     }
 
-    private void insertSequence(String sequence) {
-        Node current = root;
+    private static Node buildPartition(List<String> words, char first) {
+        Node partition = new Node();
+        for (String word : words) {
+            for (int split = 0; split <= word.length(); split++) {
+                if (rotationCharAt(word, split, 0) == first) {
+                    insertRotation(partition, word, split, 1);
+                }
+            }
+        }
+        return partition;
+    }
 
-        for (int i = 0; i < sequence.length(); i++) {
-            char c = sequence.charAt(i);
-            current = current.getOrCreateChild(c);
+    // Compilation to packed arcs
+    public void compile() {
+        if (isCompiled()) {
+            return;
         }
 
-        current.setWord(true);
+        ArcPacker packer = new ArcPacker(countArcs(root) + 1);
+        finishCompile(packer, packer.pack(root));
+    }
+
+    private void compile(ForkJoinPool pool) {
+        List<ForkJoinTask<Integer>> counts = new ArrayList<>();
+        for (Node child : root.getChildren().values()) {
+            counts.add(pool.submit(() -> countArcs(child)));
+        }
+        int maxArcs = root.getChildren().size() + 1;
+        for (ForkJoinTask<Integer> count : counts) {
+            maxArcs += count.join();
+        }
+
+        ArcPacker packer = new ArcPacker(maxArcs);
+        Map<Character, ForkJoinTask<Integer>> packedChildren = new HashMap<>();
+        for (Map.Entry<Character, Node> entry : root.getChildren().entrySet()) {
+            Node child = entry.getValue();
+            packedChildren.put(entry.getKey(), pool.submit(() -> packer.pack(child)));
+        }
+
+        int[] childIndices = new int[DELIMITER_CODE + 1];
+        for (Map.Entry<Character, ForkJoinTask<Integer>> entry : packedChildren.entrySet()) {
+            childIndices[codeOf(entry.getKey())] = entry.getValue().join();
+        }
+        finishCompile(packer, packer.packRun(root, childIndices));
+    }
+
+    private void finishCompile(ArcPacker packer, int packedRoot) {
+        rootIndex = packedRoot;
+        root = null;
+
+        // Auto arenas release the segment once the GADDAG is unreachable and allow access from any thread
+        arcCount = packer.size();
+        MemorySegment segment = Arena.ofAuto().allocate(arcCount * ARC_LAYOUT.byteSize(), ARC_LAYOUT.byteAlignment());
+        MemorySegment.copy(packer.packed, 0, segment, ARC_LAYOUT, 0, arcCount);
+        arcs = segment.asReadOnly();
+    }
+
+    private static int countArcs(Node node) {
+        int count = node.getChildren().size();
+        for (Node child : node.getChildren().values()) {
+            count += countArcs(child);
+        }
+        return count;
+    }
+
+    public boolean isCompiled() {
+        return arcs != null;
+    }
+
+    public int getArcCount() {
+        return isCompiled() ? arcCount : countArcs(root);
+    }
+
+    public long getOffHeapBytes() {
+        return isCompiled() ? arcs.byteSize() : 0;
+    }
+
+    MemorySegment getArcs() {
+        if (!isCompiled()) {
+            throw new IllegalStateException("GADDAG has not been compiled");
+        }
+        return arcs;
+    }
+
+    private int arcAt(int index) {
+        return arcs.getAtIndex(ARC_LAYOUT, index);
+    }
+
+    int getRootIndex() {
+        return rootIndex;
+    }
+
+    PackedWordSet getWordIndex() {
+        return wordIndex;
+    }
+
+    // Arc navigation for move generators. A node is the index of its first arc and an arc is
+    // an index into the packed arcs; NO_NODE is a node without arcs.
+    public int getRootNode() {
+        if (!isCompiled()) {
+            throw new IllegalStateException("GADDAG has not been compiled");
+        }
+        return rootIndex;
+    }
+
+    public int getChildNode(int arc) {
+        return arcAt(arc) >>> CHILD_SHIFT;
+    }
+
+    public char getArcLetter(int arc) {
+        return charOf(arcAt(arc) & LETTER_MASK);
+    }
+
+    public boolean isTerminalArc(int arc) {
+        return (arcAt(arc) & TERMINAL_BIT) != 0;
+    }
+
+    public boolean isLastArc(int arc) {
+        return (arcAt(arc) & LAST_ARC_BIT) != 0;
+    }
+
+    // Returns the arc for c leaving node, or -1 if there is none
+    public int findArc(int node, char c) {
+        int code = codeOf(c);
+        if (code < 0) {
+            return -1;
+        }
+
+        for (int i = node; ; i++) {
+            int arc = arcAt(i);
+            int arcCode = arc & LETTER_MASK;
+            if (arcCode == code) {
+                return i;
+            }
+            if (arcCode > code || (arc & LAST_ARC_BIT) != 0) {
+                return -1;
+            }
+        }
+    }
+
+    private static int codeOf(char c) {
+        if (c == DELIMITER) {
+            return DELIMITER_CODE;
+        }
+        return c >= 'A' && c <= 'Z' ? c - 'A' : -1;
+    }
+
+    private static char charOf(int code) {
+        return code == DELIMITER_CODE ? DELIMITER : (char) ('A' + code);
     }
 
     // Word validation methods
@@ -58,6 +294,14 @@ public class Gaddag {
             return false;
         }
 
+        if (wordIndex != null) {
+            return wordIndex.contains(word);
+        }
+
+        if (isCompiled()) {
+            return containsPacked(word);
+        }
+
         Node current = root;
         String sequence = DELIMITER + word;
 
@@ -71,87 +315,138 @@ public class Gaddag {
         return current.isWord();
     }
 
-    // Word placement validation
+    private boolean containsPacked(String word) {
+        int arc = findArc(rootIndex, DELIMITER);
+        for (int i = 0; i < word.length() && arc >= 0; i++) {
+            arc = findArc(arcAt(arc) >>> CHILD_SHIFT, word.charAt(i));
+        }
+        return arc >= 0 && (arcAt(arc) & TERMINAL_BIT) != 0;
+    }
+
+    /**
+     * Word placement validation; the move's tiles are pushed onto the board and popped again.
+     * Runs on the move's line are read in place, so checking a candidate allocates nothing on
+     * a compiled GADDAG.
+     */
     public boolean validateWordPlacement(Board board, Move move) {
         if (move.getTiles().isEmpty()) {
             return false;
         }
 
-        Board tempBoard = new Board();
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                Square square = board.getSquare(r, c);
-                if (square.hasTile()) {
-                    tempBoard.placeTile(r, c, square.getTile());
-                }
-            }
-        }
-
-        List<Point> newTilePositions = new ArrayList<>();
-        int row = move.getStartRow();
-        int col = move.getStartCol();
+        boolean firstMove = board.isEmpty();
         Move.Direction direction = move.getDirection();
+        LineView lines = board.getLines(direction);
+        int line = lines.lineOf(move.getStartRow(), move.getStartCol());
+        int start = lines.positionOf(move.getStartRow(), move.getStartCol());
+
+        // Bit pos set for each tile pushed at that position of the line
+        int newTiles = 0;
+        int pushed = 0;
+
+        try {
+            int pos = start;
+            for (Tile tile : move.getTiles()) {
+                while (pos < Board.SIZE && lines.hasTile(line, pos)) {
+                    pos++;
+                }
 
-        int currentRow = row;
-        int currentCol = col;
-
-        for (Tile tile : move.getTiles()) {
-            while (currentRow < Board.SIZE && currentCol < Board.SIZE &&
-                    tempBoard.getSquare(currentRow, currentCol).hasTile()) {
-                if (direction == Move.Direction.HORIZONTAL) {
-                    currentCol++;
-                } else {
-                    currentRow++;
+                if (pos >= Board.SIZE) {
+                    return false;
                 }
+
+                board.pushTile(lines.getRow(line, pos), lines.getCol(line, pos), tile);
+                pushed++;
+                newTiles |= 1 << pos;
+                pos++;
             }
 
-            if (currentRow >= Board.SIZE || currentCol >= Board.SIZE) {
+            int center = Board.SIZE / 2;
+            if (firstMove && (line != center || (newTiles & (1 << center)) == 0)) {
                 return false;
             }
 
-            tempBoard.placeTile(currentRow, currentCol, tile);
-            newTilePositions.add(new Point(currentRow, currentCol));
-
-            if (direction == Move.Direction.HORIZONTAL) {
-                currentCol++;
-            } else {
-                currentRow++;
+            int mainStart = runStart(lines, line, start);
+            if (runEnd(lines, line, mainStart) - mainStart < 2 || !containsRun(lines, line, mainStart)) {
+                return false;
             }
-        }
 
-        if (board.isEmpty()) {
-            boolean touchesCenter = false;
-            for (Point p : newTilePositions) {
-                if (p.x == 7 && p.y == 7) {
-                    touchesCenter = true;
-                    break;
+            // Square (line, pos) here is (pos, line) in the perpendicular view
+            LineView cross = board.getLines(direction.perpendicular());
+            for (int bits = newTiles; bits != 0; bits &= bits - 1) {
+                int crossLine = Integer.numberOfTrailingZeros(bits);
+                int crossStart = runStart(cross, crossLine, line);
+                if (runEnd(cross, crossLine, crossStart) - crossStart >= 2 &&
+                        !containsRun(cross, crossLine, crossStart)) {
+                    return false;
                 }
             }
-            if (!touchesCenter) {
-                return false;
+            return true;
+        } finally {
+            board.popTiles(pushed);
+        }
+    }
+
+    private static int runStart(LineView lines, int line, int pos) {
+        while (pos > 0 && lines.hasTile(line, pos - 1)) {
+            pos--;
+        }
+        return pos;
+    }
+
+    // Position just past the run of tiles starting at start
+    private static int runEnd(LineView lines, int line, int start) {
+        int pos = start;
+        while (pos < Board.SIZE && lines.hasTile(line, pos)) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private boolean containsRun(LineView lines, int line, int start) {
+        int end = runEnd(lines, line, start);
+        if (!isCompiled()) {
+            StringBuilder word = new StringBuilder();
+            for (int pos = start; pos < end; pos++) {
+                word.append(lines.getLetter(line, pos));
             }
+            return contains(word.toString());
         }
 
-        List<String> formedWords = validateWords(tempBoard, move, newTilePositions);
-        return !formedWords.isEmpty();
+        int arc = findArc(rootIndex, DELIMITER);
+        for (int pos = start; pos < end && arc >= 0; pos++) {
+            arc = findArc(arcAt(arc) >>> CHILD_SHIFT, lines.getLetter(line, pos));
+        }
+        return arc >= 0 && (arcAt(arc) & TERMINAL_BIT) != 0;
     }
 
     public List<String> validateWords(Board board, Move move, List<Point> newTilePositions) {
         List<String> formedWords = new ArrayList<>();
+        for (WordSpan span : validateWordSpans(board, move, newTilePositions)) {
+            formedWords.add(span.getWord());
+        }
+        return formedWords;
+    }
+
+    /**
+     * Returns the main word followed by every cross word the new tiles form, as spans on the
+     * board, or an empty list if any of them is not a word.
+     */
+    public List<WordSpan> validateWordSpans(Board board, Move move, List<Point> newTilePositions) {
+        List<WordSpan> formedWords = new ArrayList<>();
 
-        String mainWord = findMainWord(board, move);
+        WordSpan mainWord = findMainWord(board, move);
 
-        if (mainWord.length() < 2 || !contains(mainWord)) {
+        if (mainWord.getLength() < 2 || !contains(mainWord.getWord())) {
             return formedWords;
         }
 
         formedWords.add(mainWord);
 
         for (Point p : newTilePositions) {
-            String crossWord = findCrossWord(board, move.getDirection(), p);
+            WordSpan crossWord = findCrossWord(board, move.getDirection(), p);
 
-            if (crossWord.length() >= 2) {
-                if (!contains(crossWord)) {
+            if (crossWord.getLength() >= 2) {
+                if (!contains(crossWord.getWord())) {
                     return new ArrayList<>();
                 }
                 formedWords.add(crossWord);
@@ -162,121 +457,110 @@ public class Gaddag {
     }
 
     // Word finding methods
-    private String findMainWord(Board board, Move move) {
-        int row = move.getStartRow();
-        int col = move.getStartCol();
-        Move.Direction direction = move.getDirection();
+    private WordSpan findMainWord(Board board, Move move) {
+        return findSpanThrough(board, move.getDirection(), move.getStartRow(), move.getStartCol());
+    }
 
-        if (direction == Move.Direction.HORIZONTAL) {
-            int startCol = findWordStart(board, row, col, true);
-            return getWordAt(board, row, startCol, Move.Direction.HORIZONTAL);
-        } else {
-            int startRow = findWordStart(board, row, col, false);
-            return getWordAt(board, startRow, col, Move.Direction.VERTICAL);
-        }
+    private WordSpan findCrossWord(Board board, Move.Direction direction, Point position) {
+        return findSpanThrough(board, direction.perpendicular(), position.x, position.y);
     }
 
-    private String findCrossWord(Board board, Move.Direction direction, Point position) {
-        if (direction == Move.Direction.HORIZONTAL) {
-            int startRow = findWordStart(board, position.x, position.y, false);
-            return getWordAt(board, startRow, position.y, Move.Direction.VERTICAL);
-        } else {
-            int startCol = findWordStart(board, position.x, position.y, true);
-            return getWordAt(board, position.x, startCol, Move.Direction.HORIZONTAL);
+    // The run of tiles in direction through (row, col), extended back over tiles before it
+    private WordSpan findSpanThrough(Board board, Move.Direction direction, int row, int col) {
+        LineView lines = board.getLines(direction);
+        int line = lines.lineOf(row, col);
+        int start = lines.positionOf(row, col);
+        while (start > 0 && lines.hasTile(line, start - 1)) {
+            start--;
         }
-    }
 
-    private int findWordStart(Board board, int row, int col, boolean isHorizontal) {
-        int position = isHorizontal ? col : row;
-        while (position > 0) {
-            int prevPos = position - 1;
-            Square square = isHorizontal ?
-                    board.getSquare(row, prevPos) :
-                    board.getSquare(prevPos, col);
-            if (!square.hasTile()) {
-                break;
-            }
-            position = prevPos;
+        StringBuilder word = new StringBuilder();
+        for (int pos = start; pos < Board.SIZE && lines.hasTile(line, pos); pos++) {
+            word.append(lines.getLetter(line, pos));
         }
-        return position;
+        return new WordSpan(lines.getRow(line, start), lines.getCol(line, start), direction, word.toString());
     }
 
-    private String getWordAt(Board board, int row, int col, Move.Direction direction) {
-        StringBuilder word = new StringBuilder();
-        int currentRow = row;
-        int currentCol = col;
+    // Packs trie nodes into arcs; safe to share between tasks packing disjoint subtrees.
+    // Children are packed first, so a run's child indices are already canonical and two runs
+    // with equal contents describe isomorphic subtrees; the register maps each run to its copy.
+    private static final class ArcPacker {
+        private final int[] packed;
+        private final AtomicInteger cursor;
+        private final ConcurrentHashMap<ArcRun, Integer> register;
+
+        ArcPacker(int maxArcs) {
+            if (maxArcs > MAX_ARCS) {
+                throw new IllegalStateException("Lexicon too large for packed GADDAG: " + maxArcs + " arcs");
+            }
+            // Index 0 holds a sentinel run that matches no letter, so leaf arcs can point at it
+            this.packed = new int[maxArcs];
+            this.packed[0] = LAST_ARC_BIT | LETTER_MASK;
+            this.cursor = new AtomicInteger(1);
+            this.register = new ConcurrentHashMap<>();
+        }
 
-        while (currentRow < Board.SIZE && currentCol < Board.SIZE) {
-            Square square = board.getSquare(currentRow, currentCol);
-            if (!square.hasTile()) {
-                break;
+        int pack(Node node) {
+            if (node.getChildren().isEmpty()) {
+                return NO_NODE;
             }
-            word.append(square.getTile().getLetter());
-            if (direction == Move.Direction.HORIZONTAL) {
-                currentCol++;
-            } else {
-                currentRow++;
+
+            int[] childIndices = new int[DELIMITER_CODE + 1];
+            for (int code = 0; code <= DELIMITER_CODE; code++) {
+                Node child = node.getChild(charOf(code));
+                if (child != null) {
+                    childIndices[code] = pack(child);
+                }
             }
+            return packRun(node, childIndices);
         }
-        return word.toString();
-    }
 
-    // Word generation from rack
-    public Set<String> getWordsFrom(String rack, char anchor, boolean allowLeft, boolean allowRight) {
-        Set<String> words = new HashSet<>();
-        StringBuilder currentWord = new StringBuilder();
-        currentWord.append(anchor);
+        int packRun(Node node, int[] childIndices) {
+            if (node.getChildren().isEmpty()) {
+                return NO_NODE;
+            }
 
-        Map<Character, Integer> rackMap = new HashMap<>();
-        for (char c : rack.toUpperCase().toCharArray()) {
-            rackMap.put(c, rackMap.getOrDefault(c, 0) + 1);
+            int[] run = new int[node.getChildren().size()];
+            int size = 0;
+            for (int code = 0; code <= DELIMITER_CODE; code++) {
+                Node child = node.getChild(charOf(code));
+                if (child != null) {
+                    run[size++] = (childIndices[code] << CHILD_SHIFT) | (child.isWord() ? TERMINAL_BIT : 0) | code;
+                }
+            }
+            run[size - 1] |= LAST_ARC_BIT;
+
+            // computeIfAbsent is atomic per key, so concurrent packers never emit the same run twice
+            return register.computeIfAbsent(new ArcRun(run), key -> {
+                int start = cursor.getAndAdd(key.arcs.length);
+                System.arraycopy(key.arcs, 0, packed, start, key.arcs.length);
+                return start;
+            });
         }
 
-        Node current = root.getChild(anchor);
-        if (current == null) {
-            return words;
+        int size() {
+            return cursor.get();
         }
-
-        dfs(current, currentWord, rackMap, words, allowLeft, allowRight, false);
-        return words;
     }
 
-    private void dfs(Node node, StringBuilder wordBuilder, Map<Character, Integer> rack,
-                     Set<String> validWords, boolean allowLeft, boolean allowRight, boolean passedDelimiter) {
+    // Register key for minimization
+    private static final class ArcRun {
+        private final int[] arcs;
+        private final int hash;
 
-        if (node.isWord() && passedDelimiter) {
-            validWords.add(wordBuilder.toString());
+        ArcRun(int[] arcs) {
+            this.arcs = arcs;
+            this.hash = Arrays.hashCode(arcs);
         }
 
-        for (Map.Entry<Character, Node> entry : node.getChildren().entrySet()) {
-            char c = entry.getKey();
-            Node child = entry.getValue();
-
-            if (c == DELIMITER) {
-                if (allowLeft) {
-                    dfs(child, wordBuilder, rack, validWords, allowLeft, allowRight, true);
-                }
-            } else if (!passedDelimiter && allowLeft) {
-                if (rack.getOrDefault(c, 0) > 0) {
-                    rack.put(c, rack.get(c) - 1);
-                    wordBuilder.insert(0, c);
-
-                    dfs(child, wordBuilder, rack, validWords, allowLeft, allowRight, passedDelimiter);
-
-                    wordBuilder.deleteCharAt(0);
-                    rack.put(c, rack.get(c) + 1);
-                }
-            } else if (passedDelimiter && allowRight) {
-                if (rack.getOrDefault(c, 0) > 0) {
-                    rack.put(c, rack.get(c) - 1);
-                    wordBuilder.append(c);
-
-                    dfs(child, wordBuilder, rack, validWords, allowLeft, allowRight, passedDelimiter);
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ArcRun other && hash == other.hash && Arrays.equals(arcs, other.arcs);
+        }
 
-                    wordBuilder.deleteCharAt(wordBuilder.length() - 1);
-                    rack.put(c, rack.get(c) + 1);
-                }
-            }
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
@@ -302,6 +586,10 @@ public class Gaddag {
             return children.computeIfAbsent(c, k -> new Node());
         }
 
+        public void setChild(char c, Node child) {
+            children.put(c, child);
+        }
+
         public boolean isWord() {
             return isWord;
         }
@@ -1,23 +1,30 @@
 package model;
 
 import utilities.GameConstants;
+import utilities.MoveCache;
 import utilities.ScoreCalculator;
 import utilities.WordValidator;
 import java.awt.Point;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
-public class Game {
+public class Game implements AutoCloseable {
     private static final Logger logger = Logger.getLogger(Game.class.getName());
     private static final int EMPTY_RACK_BONUS = 50;
 
     private final Board board;
     private final TileBag tileBag;
     private final List<Player> players;
-    private final Dictionary dictionary;
+    private final CompletableFuture<Dictionary> dictionary;
+    private final LexiconRegistry.Lease lexiconLease;
     private final List<Move> moveHistory;
+    // Board after each move in moveHistory; consecutive positions share their untouched rows
+    private final List<BoardSnapshot> positionHistory;
+    private final MoveCache moveCache;
 
     private int currentPlayerIndex;
     private int aiDifficulty = GameConstants.AI_EASY;
@@ -26,14 +33,35 @@ public class Game {
 
     // Initialization and setup
     public Game(InputStream dictionaryStream, String dictionaryName) throws IOException {
+        this(new Dictionary(dictionaryStream, dictionaryName));
+    }
+
+    public Game(Dictionary dictionary) {
+        this(CompletableFuture.completedFuture(dictionary), null);
+    }
+
+    // Uses a shared dictionary from the registry; the lease is released by close()
+    public Game(LexiconRegistry.Lease lexiconLease) {
+        this(lexiconLease.getDictionary(), lexiconLease);
+    }
+
+    // The game can be set up and started while the dictionary is still loading
+    public Game(CompletableFuture<Dictionary> dictionary) {
+        this(dictionary, null);
+    }
+
+    private Game(CompletableFuture<Dictionary> dictionary, LexiconRegistry.Lease lexiconLease) {
         this.board = new Board();
         this.tileBag = new TileBag();
         this.players = new ArrayList<>();
-        this.dictionary = new Dictionary(dictionaryStream, dictionaryName);
+        this.dictionary = dictionary;
+        this.lexiconLease = lexiconLease;
         this.currentPlayerIndex = 0;
         this.gameOver = false;
         this.consecutivePasses = 0;
         this.moveHistory = new ArrayList<>();
+        this.positionHistory = new ArrayList<>();
+        this.moveCache = new MoveCache(board);
     }
 
     public void addPlayer(Player player) {
@@ -66,6 +94,8 @@ public class Game {
         gameOver = false;
         consecutivePasses = 0;
         moveHistory.clear();
+        positionHistory.clear();
+        moveCache.clear();
 
         logger.info("Game started with " + players.size() + " players");
         logger.info("First player: " + getCurrentPlayer().getName());
@@ -132,6 +162,7 @@ public class Game {
 
         if (success) {
             moveHistory.add(move);
+            positionHistory.add(getPosition().with(move));
             logger.info("Move executed: " + move);
 
             if (checkGameOver()) {
@@ -148,29 +179,39 @@ public class Game {
     }
 
     private boolean executePlaceMove(Move move) {
+        Dictionary dictionary = getDictionary();
+
         if (!WordValidator.isValidPlaceMove(move, board, dictionary)) {
             logger.warning("Invalid place move");
             return false;
         }
 
         Player player = move.getPlayer();
-        Board tempBoard = Board.copyBoard(board);
         List<Point> newTilePositions = new ArrayList<>();
+        List<WordSpan> formedWords;
+        int score;
 
-        placeTilesOnBoard(tempBoard, move, newTilePositions);
+        // Check and score the move with its tiles pushed onto the board, then take them off again
+        try {
+            pushTiles(move, newTilePositions);
 
-        List<String> formedWords = WordValidator.validateWords(
-                tempBoard, move, newTilePositions, dictionary);
+            formedWords = WordValidator.validateWordSpans(board, move, newTilePositions, dictionary);
 
-        if (formedWords.isEmpty()) {
-            logger.warning("No valid words formed");
-            return false;
-        }
+            if (formedWords.isEmpty()) {
+                logger.warning("No valid words formed");
+                return false;
+            }
 
-        move.setFormedWords(formedWords);
+            score = ScoreCalculator.calculateMoveScore(move, board, formedWords, newTilePositions);
+        } finally {
+            board.popTiles(newTilePositions.size());
+        }
 
-        Set<Point> newPositionsSet = new HashSet<>(newTilePositions);
-        int score = ScoreCalculator.calculateMoveScore(move, tempBoard, formedWords, newPositionsSet);
+        List<String> words = new ArrayList<>();
+        for (WordSpan span : formedWords) {
+            words.add(span.getWord());
+        }
+        move.setFormedWords(words);
         move.setScore(score);
 
         for (int i = 0; i < move.getTiles().size(); i++) {
@@ -178,10 +219,11 @@ public class Game {
             if (i < newTilePositions.size()) {
                 Point position = newTilePositions.get(i);
                 board.placeTile(position.x, position.y, tile);
-                board.getSquare(position.x, position.y).usePremium();
+                board.usePremium(position.x, position.y);
                 player.getRack().removeTile(tile);
             }
         }
+        moveCache.invalidate(newTilePositions);
 
         player.addScore(score);
         consecutivePasses = 0;
@@ -196,33 +238,22 @@ public class Game {
         return true;
     }
 
-    private void placeTilesOnBoard(Board targetBoard, Move move, List<Point> newTilePositions) {
-        int row = move.getStartRow();
-        int col = move.getStartCol();
-        Move.Direction direction = move.getDirection();
-
-        int currentRow = row;
-        int currentCol = col;
+    private void pushTiles(Move move, List<Point> newTilePositions) {
+        LineView lines = board.getLines(move.getDirection());
+        int line = lines.lineOf(move.getStartRow(), move.getStartCol());
+        int pos = lines.positionOf(move.getStartRow(), move.getStartCol());
 
         for (Tile tile : move.getTiles()) {
-            while (currentRow < Board.SIZE && currentCol < Board.SIZE &&
-                    targetBoard.getSquare(currentRow, currentCol).hasTile()) {
-                if (direction == Move.Direction.HORIZONTAL) {
-                    currentCol++;
-                } else {
-                    currentRow++;
-                }
+            while (pos < Board.SIZE && lines.hasTile(line, pos)) {
+                pos++;
             }
 
-            if (currentRow < Board.SIZE && currentCol < Board.SIZE) {
-                targetBoard.placeTile(currentRow, currentCol, tile);
-                newTilePositions.add(new Point(currentRow, currentCol));
-
-                if (direction == Move.Direction.HORIZONTAL) {
-                    currentCol++;
-                } else {
-                    currentRow++;
-                }
+            if (pos < Board.SIZE) {
+                int row = lines.getRow(line, pos);
+                int col = lines.getCol(line, pos);
+                board.pushTile(row, col, tile);
+                newTilePositions.add(new Point(row, col));
+                pos++;
             }
         }
     }
@@ -326,8 +357,45 @@ public class Game {
         return tileBag;
     }
 
+    // Key of the board and the current player's rack, see Board.positionKey
+    public long positionKey() {
+        return board.positionKey(getCurrentPlayer().getRack());
+    }
+
+    // Placements found for this game's board, kept up to date as moves are played
+    public MoveCache getMoveCache() {
+        return moveCache;
+    }
+
+    /**
+     * Returns the game's dictionary, waiting for it if it is still loading.
+     */
     public Dictionary getDictionary() {
-        return dictionary;
+        if (!dictionary.isDone()) {
+            logger.info("Waiting for dictionary to finish loading");
+        }
+
+        try {
+            return dictionary.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Dictionary failed to load", e.getCause());
+        }
+    }
+
+    // Completes with the dictionary once it has loaded, or exceptionally if loading failed
+    public CompletableFuture<Dictionary> whenDictionaryLoaded() {
+        return dictionary.copy();
+    }
+
+    public boolean isDictionaryReady() {
+        return dictionary.isDone() && !dictionary.isCompletedExceptionally();
+    }
+
+    @Override
+    public void close() {
+        if (lexiconLease != null) {
+            lexiconLease.close();
+        }
     }
 
     public List<Player> getPlayers() {
@@ -338,6 +406,16 @@ public class Game {
         return Collections.unmodifiableList(moveHistory);
     }
 
+    // For analysis: position i is the board after move i of getMoveHistory
+    public List<BoardSnapshot> getPositionHistory() {
+        return Collections.unmodifiableList(positionHistory);
+    }
+
+    // The current board as a snapshot, without copying it
+    public BoardSnapshot getPosition() {
+        return positionHistory.isEmpty() ? BoardSnapshot.EMPTY : positionHistory.get(positionHistory.size() - 1);
+    }
+
     public boolean isGameOver() {
         return gameOver;
     }
@@ -0,0 +1,161 @@
+package model;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Binary on-disk form of a compiled GADDAG. The file is a fixed little-endian header followed
+ * by the packed arcs exactly as {@link Gaddag} walks them and the {@link PackedWordSet} slots
+ * and letters, so opening it is a read-only memory map plus a checksum pass; the mapped slices
+ * become the lexicon's storage directly, are never copied onto the heap, and their pages are
+ * shared by every process that opens the file.
+ *
+ * Header layout (40 bytes): magic, version, word count, root index, arc count, slot count,
+ * letter byte count, reserved, CRC32 of everything after the header (8 bytes).
+ */
+public final class LexiconFile {
+    private static final Logger logger = Logger.getLogger(LexiconFile.class.getName());
+
+    private static final int MAGIC = 0x47444447; // "GDDG"
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 40;
+    private static final ValueLayout.OfInt HEADER_INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong HEADER_LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private LexiconFile() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    // Writing
+    public static void write(Dictionary dictionary, Path path) throws IOException {
+        Gaddag gaddag = dictionary.getGaddag();
+        PackedWordSet wordIndex = gaddag.getWordIndex();
+        if (wordIndex == null) {
+            throw new IllegalArgumentException("Dictionary has no word index to write");
+        }
+
+        // Segments are already little-endian, so their bytes are the file body as-is
+        ByteBuffer[] body = {
+                gaddag.getArcs().asByteBuffer(),
+                wordIndex.getSlots().asByteBuffer(),
+                wordIndex.getLetters().asByteBuffer()
+        };
+
+        CRC32 crc = new CRC32();
+        for (ByteBuffer section : body) {
+            crc.update(section.duplicate());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(wordIndex.size())
+                .putInt(gaddag.getRootIndex())
+                .putInt(gaddag.getArcCount())
+                .putInt(body[1].remaining() / Integer.BYTES)
+                .putInt(body[2].remaining())
+                .putInt(0)
+                .putLong(crc.getValue())
+                .flip();
+
+        // Write beside the target and move into place so readers never map a partial file
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            for (ByteBuffer section : body) {
+                while (section.hasRemaining()) {
+                    channel.write(section);
+                }
+            }
+            channel.force(false);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    // Reading
+    public static Dictionary open(Path path, String name) throws IOException {
+        MemorySegment mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Lexicon file too short: " + path);
+            }
+            // The mapping outlives the channel and is unmapped once the GADDAG is unreachable
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+        }
+
+        if (mapped.get(HEADER_INT, 0) != MAGIC) {
+            throw new IOException("Not a lexicon file: " + path);
+        }
+        if (mapped.get(HEADER_INT, 4) != VERSION) {
+            throw new IOException("Unsupported lexicon version " + mapped.get(HEADER_INT, 4) + ": " + path);
+        }
+
+        int wordCount = mapped.get(HEADER_INT, 8);
+        int rootIndex = mapped.get(HEADER_INT, 12);
+        int arcCount = mapped.get(HEADER_INT, 16);
+        int slotCount = mapped.get(HEADER_INT, 20);
+        int letterBytes = mapped.get(HEADER_INT, 24);
+        long checksum = mapped.get(HEADER_LONG, 32);
+
+        long arcBytes = (long) arcCount * Integer.BYTES;
+        long slotBytes = (long) slotCount * Integer.BYTES;
+        if (arcCount <= 0 || slotCount <= 0 || letterBytes < 0 ||
+                HEADER_BYTES + arcBytes + slotBytes + letterBytes != mapped.byteSize()) {
+            throw new IOException("Lexicon size does not match header: " + path);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(mapped.asSlice(HEADER_BYTES).asByteBuffer());
+        if (crc.getValue() != checksum) {
+            throw new IOException("Lexicon checksum mismatch: " + path);
+        }
+
+        MemorySegment arcs = mapped.asSlice(HEADER_BYTES, arcBytes);
+        MemorySegment slots = mapped.asSlice(HEADER_BYTES + arcBytes, slotBytes);
+        MemorySegment letters = mapped.asSlice(HEADER_BYTES + arcBytes + slotBytes, letterBytes);
+
+        PackedWordSet wordIndex;
+        try {
+            wordIndex = new PackedWordSet(slots, letters, wordCount);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid word index in " + path, e);
+        }
+        return new Dictionary(new Gaddag(arcs, rootIndex, wordIndex), name, wordCount);
+    }
+
+    /**
+     * Compiles a word list into a lexicon file.
+     * Usage: {@code java model.LexiconFile <word list> <lexicon file>}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: LexiconFile <word list> <lexicon file>");
+        }
+
+        Dictionary dictionary = new Dictionary(Dictionary.loadFile(args[0]), args[0], true);
+        write(dictionary, Paths.get(args[1]));
+        logger.info("Wrote " + dictionary.getGaddag().getArcCount() + " arcs to " + args[1]);
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import utilities.GameConstants;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Hands out one shared {@link Dictionary} per lexicon key so that concurrent games reuse a
+ * single compiled GADDAG. Each {@link #acquire} returns a {@link Lease}; the entry is evicted
+ * when its last lease is closed and a later acquire loads it again. Dictionaries are immutable
+ * once loaded, so the same instance is safe to use from every game and thread.
+ */
+public final class LexiconRegistry {
+    private static final Logger logger = Logger.getLogger(LexiconRegistry.class.getName());
+    private static final LexiconRegistry SHARED = new LexiconRegistry();
+
+    @FunctionalInterface
+    public interface Loader {
+        Dictionary load() throws IOException;
+    }
+
+    private final Map<String, Entry> entries;
+
+    public LexiconRegistry() {
+        this.entries = new HashMap<>();
+    }
+
+    public static LexiconRegistry getShared() {
+        return SHARED;
+    }
+
+    // Leasing
+    public Lease acquireDefault() {
+        return acquire(GameConstants.DEFAULT_LEXICON, Dictionary::loadDefault);
+    }
+
+    /**
+     * Leases the dictionary registered under {@code key}, starting {@code loader} on a background
+     * thread if no live entry exists. A failed load is replaced by the next acquire.
+     */
+    public synchronized Lease acquire(String key, Loader loader) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.dictionary.isCompletedExceptionally()) {
+            entry = new Entry(loadAsync(key, loader));
+            entries.put(key, entry);
+        }
+
+        entry.references++;
+        return new Lease(key, entry);
+    }
+
+    private synchronized void release(String key, Entry entry) {
+        entry.references--;
+        if (entry.references == 0 && entries.get(key) == entry) {
+            entries.remove(key);
+            logger.info("Evicted lexicon " + key);
+        }
+    }
+
+    private static CompletableFuture<Dictionary> loadAsync(String key, Loader loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, task -> {
+            Thread thread = new Thread(task, "lexicon-loader-" + key);
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    // Accessors
+    public synchronized int getReferenceCount(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.references;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Registry entry, guarded by the registry's lock
+    private static final class Entry {
+        private final CompletableFuture<Dictionary> dictionary;
+        private int references;
+
+        Entry(CompletableFuture<Dictionary> dictionary) {
+            this.dictionary = dictionary;
+        }
+    }
+
+    /**
+     * A counted reference to a registered dictionary. Closing it more than once has no effect.
+     */
+    public final class Lease implements AutoCloseable {
+        private final String key;
+        private final Entry entry;
+        private final AtomicBoolean released;
+
+        private Lease(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.released = new AtomicBoolean(false);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public CompletableFuture<Dictionary> getDictionary() {
+            return entry.dictionary;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(key, entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package model;
+
+/**
+ * A board read along one direction, so that rows and columns are handled by the same code.
+ * Position {@code pos} of line {@code line} is square (line, pos) in the horizontal view and
+ * (pos, line) in the vertical one. The vertical view reads the board's transposed arrays, so
+ * in both views a line is contiguous and no accessor depends on the direction. Swapping line
+ * and position gives the same square in the perpendicular view.
+ */
+public final class LineView {
+    private static final int SIZE = Board.SIZE;
+    private static final int FULL_LINE = (1 << SIZE) - 1;
+
+    private final Move.Direction direction;
+    private final byte[] letters;
+    private final long[] blanks;
+    private final long[] premiumsUsed;
+    private final Square.SquareType[] layout;
+    private final int[] lineBits;
+
+    // Views share the board's arrays and are made by it
+    LineView(Move.Direction direction, byte[] letters, long[] blanks, long[] premiumsUsed,
+             Square.SquareType[] layout, int[] lineBits) {
+        this.direction = direction;
+        this.letters = letters;
+        this.blanks = blanks;
+        this.premiumsUsed = premiumsUsed;
+        this.layout = layout;
+        this.lineBits = lineBits;
+    }
+
+    public Move.Direction getDirection() {
+        return direction;
+    }
+
+    // Coordinates
+    public int lineOf(int row, int col) {
+        return direction.lineOf(row, col);
+    }
+
+    public int positionOf(int row, int col) {
+        return direction.positionOf(row, col);
+    }
+
+    public int getRow(int line, int pos) {
+        return direction.rowAt(line, pos);
+    }
+
+    public int getCol(int line, int pos) {
+        return direction.colAt(line, pos);
+    }
+
+    // Squares
+    public boolean hasTile(int line, int pos) {
+        return letters[index(line, pos)] != 0;
+    }
+
+    // Letter on the square, or 0 if it is empty
+    public char getLetter(int line, int pos) {
+        int code = letters[index(line, pos)];
+        return code == 0 ? 0 : (char) ('A' + code - 1);
+    }
+
+    // Face value of the tile on the square, 0 for a blank or an empty square
+    public int getTileValue(int line, int pos) {
+        int index = index(line, pos);
+        int code = letters[index];
+        return code == 0 || (blanks[index >>> 6] & (1L << index)) != 0 ? 0 : Board.getLetterValue(code);
+    }
+
+    public boolean isPremiumUsed(int line, int pos) {
+        int index = index(line, pos);
+        return (premiumsUsed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public Square.SquareType getSquareType(int line, int pos) {
+        return layout[index(line, pos)];
+    }
+
+    // Occupancy of a line as a bitmask, bit i being position i
+    public int getOccupancy(int line) {
+        return lineBits[line];
+    }
+
+    // Empty squares of a line with an occupied neighbour along or across it, as a bitmask
+    public int getAnchors(int line) {
+        int occupied = lineBits[line];
+        int before = line > 0 ? lineBits[line - 1] : 0;
+        int after = line < SIZE - 1 ? lineBits[line + 1] : 0;
+        return ((occupied << 1) | (occupied >>> 1) | before | after) & ~occupied & FULL_LINE;
+    }
+
+    private static int index(int line, int pos) {
+        if (line < 0 || line >= SIZE || pos < 0 || pos >= SIZE) {
+            throw new IndexOutOfBoundsException("Invalid line position: (" + line + ", " + pos + ")");
+        }
+        return line * SIZE + pos;
+    }
+}
@@ -13,7 +13,28 @@ public class Move {
 
     public enum Direction {
         HORIZONTAL,
-        VERTICAL
+        VERTICAL;
+
+        public Direction perpendicular() {
+            return this == HORIZONTAL ? VERTICAL : HORIZONTAL;
+        }
+
+        // Square (row, col) as line and position along this direction, and back
+        public int lineOf(int row, int col) {
+            return this == HORIZONTAL ? row : col;
+        }
+
+        public int positionOf(int row, int col) {
+            return this == HORIZONTAL ? col : row;
+        }
+
+        public int rowAt(int line, int pos) {
+            return this == HORIZONTAL ? line : pos;
+        }
+
+        public int colAt(int line, int pos) {
+            return this == HORIZONTAL ? pos : line;
+        }
     }
 
     private final Player player;
@@ -0,0 +1,164 @@
+package model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Exact-match word index kept off-heap. Words are stored once as length-prefixed ASCII bytes
+ * in a letter arena, and an open-addressing table of int slots points into the arena (offset
+ * plus one, zero for empty). A lookup is one hash and usually a single byte comparison, and
+ * no String is retained per word. Both segments can be written to and mapped from a lexicon file.
+ */
+final class PackedWordSet {
+    static final ValueLayout.OfInt SLOT_LAYOUT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final int MAX_WORD_LENGTH = 255;
+
+    private final MemorySegment slots;
+    private final MemorySegment letters;
+    private final int mask;
+    private final int size;
+
+    PackedWordSet(MemorySegment slots, MemorySegment letters, int size) {
+        int slotCount = (int) (slots.byteSize() / SLOT_LAYOUT.byteSize());
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+
+        this.slots = slots.asReadOnly();
+        this.letters = letters.asReadOnly();
+        this.mask = slotCount - 1;
+        this.size = size;
+    }
+
+    // Building
+    static PackedWordSet of(Collection<String> words) {
+        // Keep the table at most half full so probe sequences stay short
+        int slotCount = Integer.highestOneBit(Math.max(1, words.size()) * 2 - 1) << 1;
+        int[] table = new int[slotCount];
+        byte[] arena = new byte[16];
+        int arenaSize = 0;
+        int count = 0;
+
+        for (String word : words) {
+            word = word.toUpperCase();
+            if (!isIndexable(word)) {
+                continue;
+            }
+
+            int slot = hash(word) & (slotCount - 1);
+            boolean duplicate = false;
+            while (table[slot] != 0) {
+                if (matches(arena, table[slot] - 1, word)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            if (duplicate) {
+                continue;
+            }
+
+            if (arenaSize + word.length() + 1 > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + word.length() + 1));
+            }
+            table[slot] = arenaSize + 1;
+            arena[arenaSize++] = (byte) word.length();
+            for (int i = 0; i < word.length(); i++) {
+                arena[arenaSize++] = (byte) word.charAt(i);
+            }
+            count++;
+        }
+
+        Arena owner = Arena.ofAuto();
+        MemorySegment slotSegment = owner.allocate(slotCount * SLOT_LAYOUT.byteSize(), SLOT_LAYOUT.byteAlignment());
+        MemorySegment.copy(table, 0, slotSegment, SLOT_LAYOUT, 0, slotCount);
+        MemorySegment letterSegment = owner.allocate(Math.max(1, arenaSize));
+        MemorySegment.copy(arena, 0, letterSegment, ValueLayout.JAVA_BYTE, 0, arenaSize);
+
+        return new PackedWordSet(slotSegment, letterSegment.asSlice(0, arenaSize), count);
+    }
+
+    private static boolean isIndexable(String word) {
+        if (word.length() < 2 || word.length() > MAX_WORD_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(byte[] arena, int offset, String word) {
+        if ((arena[offset] & 0xFF) != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (arena[offset + 1 + i] != (byte) word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a with a final mix; persisted tables depend on it, so it must not change
+    private static int hash(CharSequence word) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < word.length(); i++) {
+            h ^= word.charAt(i);
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Lookup
+    boolean contains(CharSequence word) {
+        int length = word.length();
+        if (length < 2 || length > MAX_WORD_LENGTH) {
+            return false;
+        }
+
+        int slot = hash(word) & mask;
+        while (true) {
+            int entry = slots.getAtIndex(SLOT_LAYOUT, slot);
+            if (entry == 0) {
+                return false;
+            }
+            if (matches(entry - 1, word)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean matches(long offset, CharSequence word) {
+        if ((letters.get(ValueLayout.JAVA_BYTE, offset) & 0xFF) != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (letters.get(ValueLayout.JAVA_BYTE, offset + 1 + i) != (byte) word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Accessors
+    int size() {
+        return size;
+    }
+
+    MemorySegment getSlots() {
+        return slots;
+    }
+
+    MemorySegment getLetters() {
+        return letters;
+    }
+}
@@ -4,13 +4,20 @@ package model;
 import utilities.GameConstants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
 
 public class Rack {
     private static final Logger logger = Logger.getLogger(Rack.class.getName());
+    private static final int BLANK_KIND = 26;
+
     private final List<Tile> tiles;
+    // Tiles held per kind, letters A-Z then blanks, and the multiset hash they give,
+    // updated as tiles come and go in the same way Board updates its Zobrist hash
+    private final int[] counts = new int[BLANK_KIND + 1];
+    private long multisetHash;
 
     public Rack() {
         this.tiles = new ArrayList<>(GameConstants.RACK_CAPACITY);
@@ -27,7 +34,9 @@ public class Rack {
             return false;
         }
 
-        return tiles.add(tile);
+        tiles.add(tile);
+        count(tile, 1);
+        return true;
     }
 
     public int addTiles(List<Tile> tilesToAdd) {
@@ -49,7 +58,11 @@ public class Rack {
         if (tile == null) {
             return false;
         }
-        return tiles.remove(tile);
+        if (!tiles.remove(tile)) {
+            return false;
+        }
+        count(tile, -1);
+        return true;
     }
 
     public boolean removeTiles(List<Tile> tilesToRemove) {
@@ -78,6 +91,11 @@ public class Rack {
         if (removedCount == tilesToRemove.size()) {
             tiles.clear();
             tiles.addAll(rackCopy);
+            Arrays.fill(counts, 0);
+            multisetHash = 0;
+            for (Tile tile : tiles) {
+                count(tile, 1);
+            }
             return true;
         }
 
@@ -121,6 +139,43 @@ public class Rack {
         Collections.shuffle(tiles);
     }
 
+    /**
+     * Hash of the rack's tiles as a multiset: racks holding the same letters and number of
+     * blanks hash equally, in any order. Blanks count as one kind whatever letter they stand for.
+     */
+    public long getMultisetHash() {
+        return multisetHash;
+    }
+
+    // Whether the rack holds exactly these tiles per kind, as returned by getTileCounts
+    public boolean hasTileCounts(int[] expected) {
+        return Arrays.equals(counts, expected);
+    }
+
+    // Tiles held per kind: letters A-Z at 0-25, blanks at 26
+    public int[] getTileCounts() {
+        return counts.clone();
+    }
+
+    private void count(Tile tile, int delta) {
+        int kind = kindOf(tile);
+        if (kind < 0) {
+            return;
+        }
+
+        // Replace the key for the old count of this kind with the one for the new count
+        multisetHash ^= Zobrist.rackKey(kind, counts[kind]) ^ Zobrist.rackKey(kind, counts[kind] + delta);
+        counts[kind] += delta;
+    }
+
+    private static int kindOf(Tile tile) {
+        if (tile.isBlank()) {
+            return BLANK_KIND;
+        }
+        char letter = tile.getLetter();
+        return letter >= 'A' && letter <= 'Z' ? letter - 'A' : -1;
+    }
+
     public int getTotalValue() {
         int total = 0;
         for (Tile tile : tiles) {
@@ -33,18 +33,15 @@ public class Square {
         }
     }
 
+    private final Board board;
     private final int row;
     private final int col;
-    private final SquareType type;
-    private Tile tile;
-    private boolean premiumUsed;
 
-    public Square(int row, int col, SquareType type) {
+    // A view of one square of a board, made by Board.getSquare
+    Square(Board board, int row, int col) {
+        this.board = board;
         this.row = row;
         this.col = col;
-        this.type = type;
-        this.tile = null;
-        this.premiumUsed = false;
     }
 
     public int getRow() {
@@ -56,35 +53,45 @@ public class Square {
     }
 
     public SquareType getSquareType() {
-        return type;
+        return board.getSquareType(row, col);
     }
 
     public boolean hasTile() {
-        return tile != null;
+        return board.hasTile(row, col);
     }
 
     public Tile getTile() {
-        return tile;
-    }
-
-    public void setTile(Tile tile) {
-        this.tile = tile;
+        return board.getTile(row, col);
     }
 
     public void usePremium() {
-        this.premiumUsed = true;
+        board.usePremium(row, col);
     }
 
     public boolean isPremiumUsed() {
-        return premiumUsed;
+        return board.isPremiumUsed(row, col);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Square other = (Square) obj;
+        return board == other.board && row == other.row && col == other.col;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(board) * 31 + row * Board.SIZE + col;
     }
 
     @Override
     public String toString() {
         if (hasTile()) {
-            return tile.toString();
+            return getTile().toString();
         } else {
-            return type.getLabel().isEmpty() ? "·" : type.getLabel();
+            String label = getSquareType().getLabel();
+            return label.isEmpty() ? "·" : label;
         }
     }
-}
\ No newline at end of file
+}
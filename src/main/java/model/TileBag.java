@@ -129,6 +129,14 @@ public class TileBag {
     }
 
     // Accessors
+    public static int getLetterValue(char letter) {
+        LetterInfo info = LETTER_DATA.get(Character.toUpperCase(letter));
+        if (info == null) {
+            throw new IllegalArgumentException("No tiles for letter: " + letter);
+        }
+        return info.getValue();
+    }
+
     public int getTileCount() {
         return tiles.size();
     }
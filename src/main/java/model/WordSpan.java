@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * A word as it lies on the board: its first square, direction and letters. Formed words are
+ * reported as spans so they can be scored in place rather than searched for by their text.
+ */
+public final class WordSpan {
+    private final int row;
+    private final int col;
+    private final Move.Direction direction;
+    private final String word;
+
+    public WordSpan(int row, int col, Move.Direction direction, String word) {
+        this.row = row;
+        this.col = col;
+        this.direction = direction;
+        this.word = word;
+    }
+
+    // Accessors
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public Move.Direction getDirection() {
+        return direction;
+    }
+
+    public int getLength() {
+        return word.length();
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s at (%d,%d) %s", word, row + 1, col + 1,
+                direction == Move.Direction.HORIZONTAL ? "horizontal" : "vertical");
+    }
+}
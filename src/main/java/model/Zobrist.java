@@ -0,0 +1,52 @@
+package model;
+
+import utilities.GameConstants;
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of positions. A board's hash is the XOR of one key
+ * per occupied square, chosen by the square, its letter and whether it is a blank, so placing
+ * or removing a tile updates it with a single XOR. A rack's hash XORs one key per tile kind
+ * chosen by how many of that kind it holds, so equal multisets hash equally whatever their
+ * order. The keys come from a fixed seed and are the same in every run.
+ */
+final class Zobrist {
+    private static final long SEED = 0x5C0DDA1E5EEDL;
+    private static final int SQUARES = Board.SIZE * Board.SIZE;
+    private static final int KINDS = 27;
+
+    // Indexed by (square * 26 + letter code - 1) * 2 + blank
+    private static final long[] SQUARE_KEYS;
+
+    // Indexed by tile kind (letter index, or 26 for blanks) * (RACK_CAPACITY + 1) + count
+    private static final long[] RACK_KEYS;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        SQUARE_KEYS = new long[SQUARES * 26 * 2];
+        for (int i = 0; i < SQUARE_KEYS.length; i++) {
+            SQUARE_KEYS[i] = random.nextLong();
+        }
+
+        // Count 0 keeps key 0, so a kind not on the rack leaves the hash unchanged
+        RACK_KEYS = new long[KINDS * (GameConstants.RACK_CAPACITY + 1)];
+        for (int i = 0; i < RACK_KEYS.length; i++) {
+            if (i % (GameConstants.RACK_CAPACITY + 1) != 0) {
+                RACK_KEYS[i] = random.nextLong();
+            }
+        }
+    }
+
+    private Zobrist() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    static long squareKey(int index, int code, boolean blank) {
+        return SQUARE_KEYS[(index * 26 + code - 1) * 2 + (blank ? 1 : 0)];
+    }
+
+    // Kind is a letter index 0-25 or 26 for a blank
+    static long rackKey(int kind, int count) {
+        return RACK_KEYS[kind * (GameConstants.RACK_CAPACITY + 1) + count];
+    }
+}
@@ -0,0 +1,172 @@
+package utilities;
+
+import model.Board;
+import model.Dictionary;
+import model.Gaddag;
+import model.Rack;
+import model.Tile;
+import model.TileBag;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Command-line comparison of the build-time trie against the compiled GADDAG, with and without
+ * its packed word index. Reports retained heap, off-heap arc storage and lookup/generation throughput.
+ *
+ * Usage: {@code java utilities.GaddagBenchmark [dictionary path]}
+ */
+public final class GaddagBenchmark {
+    private static final int LOOKUP_ROUNDS = 5;
+    private static final int RACK_SAMPLES = 2_000;
+    private static final long SEED = 42L;
+
+    private GaddagBenchmark() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        String path = args.length > 0 ? args[0] : GameConstants.DEFAULT_DICTIONARY;
+        List<String> words = readWords(path);
+        List<String> probes = buildProbes(words);
+        List<String> racks = buildRacks(words);
+
+        long baseline = usedHeap();
+        long start = System.nanoTime();
+        Gaddag gaddag = new Gaddag();
+        for (String word : words) {
+            gaddag.insert(word);
+        }
+        long buildNanos = System.nanoTime() - start;
+        long trieHeap = usedHeap() - baseline;
+
+        int trieArcs = gaddag.getArcCount();
+        System.out.println("Words: " + words.size());
+        System.out.printf("%-10s %12s %12s %14s %14s%n", "Form", "Build ms", "Heap MB", "contains/s", "racks/s");
+        report("trie", gaddag, buildNanos, trieHeap, probes, racks);
+
+        start = System.nanoTime();
+        gaddag.compile();
+        long compileNanos = System.nanoTime() - start;
+        long packedHeap = usedHeap() - baseline;
+        report("compiled", gaddag, compileNanos, packedHeap, probes, racks);
+
+        start = System.nanoTime();
+        Gaddag indexed = Gaddag.build(words);
+        long indexedNanos = System.nanoTime() - start;
+        long indexedHeap = usedHeap() - baseline;
+        report("indexed", indexed, indexedNanos, indexedHeap, probes, racks);
+
+        System.out.println("Trie arcs: " + trieArcs + ", minimized arcs: " + gaddag.getArcCount());
+        System.out.printf("Compiled arcs off-heap: %.1f MB%n", gaddag.getOffHeapBytes() / 1e6);
+    }
+
+    private static void report(String label, Gaddag gaddag, long buildNanos, long heapBytes,
+                               List<String> probes, List<String> racks) {
+        double lookupsPerSecond = measureContains(gaddag, probes);
+        double racksPerSecond = measureGeneration(gaddag, racks);
+        System.out.printf("%-10s %12.1f %12.1f %14.0f %14.0f%n", label,
+                buildNanos / 1e6, heapBytes / 1e6, lookupsPerSecond, racksPerSecond);
+    }
+
+    private static double measureContains(Gaddag gaddag, List<String> probes) {
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < LOOKUP_ROUNDS; round++) {
+            for (String probe : probes) {
+                if (gaddag.contains(probe)) {
+                    hits++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (hits == 0) {
+            System.out.println("No probes matched");
+        }
+        return probes.size() * (double) LOOKUP_ROUNDS / (elapsed / 1e9);
+    }
+
+    // Opening moves on an empty board; the move generator walks compiled arcs only
+    private static double measureGeneration(Gaddag gaddag, List<String> racks) {
+        if (!gaddag.isCompiled()) {
+            return Double.NaN;
+        }
+
+        MoveGenerator generator = new MoveGenerator(gaddag, new Board());
+        int found = 0;
+        long start = System.nanoTime();
+        for (String letters : racks) {
+            MoveBuffer placements = new MoveBuffer();
+            generator.generate(toRack(letters), placements);
+            found += placements.size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found == 0) {
+            System.out.println("No words generated");
+        }
+        return racks.size() / (elapsed / 1e9);
+    }
+
+    // Sample data
+    private static List<String> readWords(String path) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Dictionary.loadFile(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim().toUpperCase();
+                if (!line.isEmpty()) {
+                    words.add(line);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static List<String> buildProbes(List<String> words) {
+        Random random = new Random(SEED);
+        List<String> probes = new ArrayList<>(words.size() * 2);
+        for (String word : words) {
+            probes.add(word);
+            char[] letters = word.toCharArray();
+            letters[random.nextInt(letters.length)] = (char) ('A' + random.nextInt(26));
+            probes.add(new String(letters));
+        }
+        return probes;
+    }
+
+    private static List<String> buildRacks(List<String> words) {
+        Random random = new Random(SEED);
+        List<String> racks = new ArrayList<>(RACK_SAMPLES);
+        for (int i = 0; i < RACK_SAMPLES; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            StringBuilder rack = new StringBuilder();
+            for (int j = 0; j < GameConstants.RACK_CAPACITY; j++) {
+                rack.append(word.charAt(random.nextInt(word.length())));
+            }
+            racks.add(rack.toString());
+        }
+        return racks;
+    }
+
+    private static Rack toRack(String letters) {
+        Rack rack = new Rack();
+        for (char letter : letters.toCharArray()) {
+            rack.addTile(new Tile(letter, TileBag.getLetterValue(letter)));
+        }
+        return rack;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
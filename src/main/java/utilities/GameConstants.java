@@ -1,5 +1,7 @@
 package utilities;
 
+import java.nio.file.Paths;
+
 public final class GameConstants {
 
     public static final int BOARD_SIZE = 15;
@@ -20,6 +22,10 @@ public final class GameConstants {
 
     public static final String DEFAULT_DICTIONARY = "src/main/resources/Dictionary.txt";
 
+    // Compiled lexicon cache, kept under the user's home so it is reused whatever directory the game starts in
+    public static final String DEFAULT_LEXICON =
+            Paths.get(System.getProperty("user.home"), ".scrabble", "lexicon", "Dictionary.gdg").toString();
+
     public static final int AI_EASY = 1;
 
     public static final int AI_MEDIUM = 2;
@@ -0,0 +1,187 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Generated placements held as primitives: a {@link MoveKey}, a score and a rank per entry in
+ * parallel growable arrays, so generation allocates nothing per placement. A buffer created
+ * with a limit keeps only the best {@code limit} entries by rank as a min-heap, the worst kept
+ * entry at the root. Placements are turned into objects only once chosen, see
+ * {@link WordFinder#toPlacement}.
+ */
+public final class MoveBuffer {
+    public static final Ranking BY_SCORE = (key, score) -> score;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    @FunctionalInterface
+    public interface Ranking {
+        int rank(long key, int score);
+    }
+
+    private final int limit;
+    private final Ranking ranking;
+    private long[] keys;
+    private int[] scores;
+    private int[] ranks;
+    private int size;
+    private int seen;
+    private int linesSearched;
+
+    public MoveBuffer() {
+        this(Integer.MAX_VALUE, BY_SCORE);
+    }
+
+    public MoveBuffer(int limit, Ranking ranking) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+
+        int capacity = Math.min(limit, INITIAL_CAPACITY);
+        this.limit = limit;
+        this.ranking = ranking;
+        this.keys = new long[capacity];
+        this.scores = new int[capacity];
+        this.ranks = new int[capacity];
+    }
+
+    // An empty buffer with the same limit and ranking, e.g. for one worker
+    public MoveBuffer emptyCopy() {
+        return new MoveBuffer(limit, ranking);
+    }
+
+    // Adding
+    public void add(long key, int score) {
+        seen++;
+        int rank = ranking.rank(key, score);
+
+        if (size < limit) {
+            if (size == keys.length) {
+                int capacity = (int) Math.min(limit, keys.length * 2L);
+                keys = Arrays.copyOf(keys, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                ranks = Arrays.copyOf(ranks, capacity);
+            }
+            set(size, key, score, rank);
+            size++;
+            if (isBounded()) {
+                siftUp(size - 1);
+            }
+        } else if (isWorse(ranks[0], keys[0], rank, key)) {
+            set(0, key, score, rank);
+            siftDown(0, size);
+        }
+    }
+
+    public void addAll(MoveBuffer other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.keys[i], other.scores[i]);
+        }
+        seen += other.seen - other.size;
+    }
+
+    /**
+     * Orders the entries best first. Equal ranks are ordered by key so results are stable
+     * whatever order the placements were generated in. Adding afterwards is not supported.
+     */
+    public void sortBestFirst() {
+        if (!isBounded()) {
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i, size);
+            }
+        }
+
+        // Heap sort on the min-heap moves the worst entry to the back on every step
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    // Accessors
+    public int size() {
+        return size;
+    }
+
+    public int getSeen() {
+        return seen;
+    }
+
+    // Rows and columns searched by WordFinder.findPlacements, fewer than all once its budget ran out
+    public int getLinesSearched() {
+        return linesSearched;
+    }
+
+    void setLinesSearched(int linesSearched) {
+        this.linesSearched = linesSearched;
+    }
+
+    public long getKey(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    public int getScore(int index) {
+        checkIndex(index);
+        return scores[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+    }
+
+    // Heap maintenance
+    private boolean isBounded() {
+        return limit != Integer.MAX_VALUE;
+    }
+
+    private static boolean isWorse(int rank, long key, int otherRank, long otherKey) {
+        return rank != otherRank ? rank < otherRank : key > otherKey;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(ranks[index], keys[index], ranks[parent], keys[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < end && isWorse(ranks[left], keys[left], ranks[worst], keys[worst])) {
+                worst = left;
+            }
+            if (right < end && isWorse(ranks[right], keys[right], ranks[worst], keys[worst])) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void set(int index, long key, int score, int rank) {
+        keys[index] = key;
+        scores[index] = score;
+        ranks[index] = rank;
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        int score = scores[a];
+        int rank = ranks[a];
+        set(a, keys[b], scores[b], ranks[b]);
+        set(b, key, score, rank);
+    }
+}
@@ -0,0 +1,116 @@
+package utilities;
+
+import model.Board;
+import model.LineView;
+import model.Move;
+import model.Rack;
+import java.awt.Point;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Placements generated for each row and column of a game's board, kept per rack across turns.
+ * A line's placements depend only on its own squares, their cross-checks and the rack, so
+ * after a move only the lines it touched are dropped (see {@link #invalidate}) and the rest
+ * are reused by the next search with the same rack. Every board change must be reported
+ * through {@link #invalidate}; lines may be looked up and stored from several workers at
+ * once, but not while the board is changing.
+ */
+public final class MoveCache {
+    private static final int SIZE = Board.SIZE;
+    private static final int MAX_RACKS = GameConstants.MAX_PLAYERS;
+
+    private final Board board;
+
+    // Lines of each recently searched rack by its multiset hash, least recently used first
+    private final Map<Long, RackLines> racks;
+
+    public MoveCache(Board board) {
+        this.board = board;
+        this.racks = new LinkedHashMap<>(MAX_RACKS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RackLines> eldest) {
+                return size() > MAX_RACKS;
+            }
+        };
+    }
+
+    // Lookup, returns null if the line has not been generated for this rack since it changed
+    public MoveBuffer getLine(Rack rack, Move.Direction direction, int index) {
+        return linesFor(rack).get(slot(direction, index));
+    }
+
+    public void putLine(Rack rack, Move.Direction direction, int index, MoveBuffer placements) {
+        linesFor(rack).set(slot(direction, index), placements);
+    }
+
+    // Racks holding the same letters and blanks share their placements. The hash is only a
+    // key: a different rack that collides with it replaces the entry rather than reading it
+    private synchronized AtomicReferenceArray<MoveBuffer> linesFor(Rack rack) {
+        long key = rack.getMultisetHash();
+        RackLines entry = racks.get(key);
+        if (entry == null || !rack.hasTileCounts(entry.tileCounts)) {
+            entry = new RackLines(rack.getTileCounts());
+            racks.put(key, entry);
+        }
+        return entry.lines;
+    }
+
+    private static int slot(Move.Direction direction, int index) {
+        return direction.ordinal() * SIZE + index;
+    }
+
+    // Invalidation
+    /**
+     * Drops the lines affected by tiles newly placed on {@code positions}, called once they
+     * are on the board: their own row and column, and the lines through the squares just
+     * past the runs they joined, whose cross-checks and anchors have changed.
+     */
+    public synchronized void invalidate(Collection<Point> positions) {
+        Set<Integer> changed = new HashSet<>();
+        for (Point position : positions) {
+            for (Move.Direction direction : Move.Direction.values()) {
+                LineView lines = board.getLines(direction);
+                int line = lines.lineOf(position.x, position.y);
+                int pos = lines.positionOf(position.x, position.y);
+                changed.add(slot(direction, line));
+
+                // Lines across this one through the squares just past the tile's run
+                int start = pos;
+                while (start > 0 && lines.hasTile(line, start - 1)) {
+                    start--;
+                }
+                int end = pos;
+                while (end < SIZE - 1 && lines.hasTile(line, end + 1)) {
+                    end++;
+                }
+                if (start > 0) {
+                    changed.add(slot(direction.perpendicular(), start - 1));
+                }
+                if (end < SIZE - 1) {
+                    changed.add(slot(direction.perpendicular(), end + 1));
+                }
+            }
+        }
+
+        for (RackLines entry : racks.values()) {
+            for (int slot : changed) {
+                entry.lines.set(slot, null);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        racks.clear();
+    }
+
+    // The exact rack an entry was generated for, checked on every lookup
+    private static final class RackLines {
+        private final int[] tileCounts;
+        private final AtomicReferenceArray<MoveBuffer> lines = new AtomicReferenceArray<>(2 * SIZE);
+
+        private RackLines(int[] tileCounts) {
+            this.tileCounts = tileCounts;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package utilities;
+
+import model.Board;
+import model.CrossCheckIndex;
+import model.Gaddag;
+import model.LineView;
+import model.Move;
+import model.Rack;
+import model.Square;
+import model.Tile;
+import java.util.Arrays;
+
+/**
+ * GADDAG move generator after Gordon, "A Faster Scrabble Move Generation Algorithm". Every row
+ * and column is generated as a line: the empty squares next to a tile are anchors, and from
+ * each anchor the GADDAG is walked leftwards and then, past the delimiter, rightwards. Board
+ * letters are followed as fixed arcs and rack letters are only tried where the board's
+ * {@link CrossCheckIndex} allows them, so each placement produced is legal and is scored as
+ * it is found. Placements are written to a {@link MoveBuffer} as a {@link MoveKey} and a score,
+ * without building any objects. Columns are read through the board's transposed
+ * {@link LineView}, so they take exactly the same path as rows.
+ *
+ * A generator keeps per-line state and is not thread-safe.
+ */
+public class MoveGenerator {
+    private static final int SIZE = Board.SIZE;
+    private static final int BLANK = 26;
+
+    private final Gaddag gaddag;
+    private final Board board;
+    private CrossCheckIndex crossIndex;
+
+    // Rack state for the current generate call
+    private final int[] rackCounts;
+    private final int[] letterValues;
+    private int tilesOnRack;
+    private MoveBuffer sink;
+
+    // Line state, rebuilt for every row and column
+    private Move.Direction direction;
+    private LineView lines;
+    private int line;
+    private int anchor;
+    private final char[] fixedLetters;
+    private final int[] fixedValues;
+    private final boolean[] anchors;
+    private final int[] crossChecks;
+    private final int[] crossScores;
+
+    // Placement under construction, indexed by position in the line
+    private final char[] letters;
+    private final boolean[] placed;
+    private final boolean[] blanks;
+    private final char[] keyLetters;
+    private final boolean[] keyBlanks;
+
+    public MoveGenerator(Gaddag gaddag, Board board) {
+        this.gaddag = gaddag;
+        this.board = board;
+        this.rackCounts = new int[BLANK + 1];
+        this.letterValues = new int[BLANK];
+        this.fixedLetters = new char[SIZE];
+        this.fixedValues = new int[SIZE];
+        this.anchors = new boolean[SIZE];
+        this.crossChecks = new int[SIZE];
+        this.crossScores = new int[SIZE];
+        this.letters = new char[SIZE];
+        this.placed = new boolean[SIZE];
+        this.blanks = new boolean[SIZE];
+        this.keyLetters = new char[MoveKey.MAX_TILES];
+        this.keyBlanks = new boolean[MoveKey.MAX_TILES];
+    }
+
+    // Generation
+    public void generate(Rack rack, MoveBuffer sink) {
+        begin(rack, sink);
+        for (Move.Direction lineDirection : Move.Direction.values()) {
+            for (int index = 0; index < SIZE; index++) {
+                generateLine(lineDirection, index);
+            }
+        }
+        this.sink = null;
+    }
+
+    /**
+     * Generates only the placements lying along one row or column, so that lines can be split
+     * between workers. Each worker needs its own generator; the board's cross-checks must
+     * already exist (see {@link Board#getCrossChecks}) so that workers only read them.
+     */
+    public void generate(Rack rack, Move.Direction lineDirection, int index, MoveBuffer sink) {
+        begin(rack, sink);
+        generateLine(lineDirection, index);
+        this.sink = null;
+    }
+
+    private void begin(Rack rack, MoveBuffer sink) {
+        loadRack(rack);
+        this.sink = sink;
+        this.crossIndex = board.getCrossChecks(gaddag);
+    }
+
+    private void generateLine(Move.Direction lineDirection, int index) {
+        int anchorBits = board.getAnchors(lineDirection, index);
+        if (anchorBits == 0) {
+            return;
+        }
+        loadLine(lineDirection, index, anchorBits);
+
+        int root = gaddag.getRootNode();
+        for (int bits = anchorBits; bits != 0; bits &= bits - 1) {
+            anchor = Integer.numberOfTrailingZeros(bits);
+            generate(anchor, root, anchor, false);
+        }
+    }
+
+    private void loadRack(Rack rack) {
+        Arrays.fill(rackCounts, 0);
+        Arrays.fill(letterValues, 0);
+        tilesOnRack = 0;
+
+        for (Tile tile : rack.getTiles()) {
+            char letter = tile.getLetter();
+            if (tile.isBlank()) {
+                rackCounts[BLANK]++;
+            } else if (letter >= 'A' && letter <= 'Z') {
+                rackCounts[letter - 'A']++;
+                letterValues[letter - 'A'] = tile.getValue();
+            } else {
+                continue;
+            }
+            tilesOnRack++;
+        }
+    }
+
+    // Walks leftwards from the anchor while the square being filled is at or before it, then
+    // rightwards from the square after the anchor once the delimiter has been crossed
+    private void generate(int pos, int node, int start, boolean rightward) {
+        char fixed = fixedLetters[pos];
+        if (fixed != 0) {
+            int arc = gaddag.findArc(node, fixed);
+            if (arc >= 0) {
+                letters[pos] = fixed;
+                extend(pos, arc, start, rightward);
+            }
+            return;
+        }
+
+        if (tilesOnRack == 0 || node == Gaddag.NO_NODE) {
+            return;
+        }
+
+        int allowed = crossChecks[pos];
+        for (int arc = node; ; arc++) {
+            char letter = gaddag.getArcLetter(arc);
+            if (letter != Gaddag.DELIMITER && (allowed & (1 << (letter - 'A'))) != 0) {
+                if (rackCounts[letter - 'A'] > 0) {
+                    place(pos, arc, letter, letter - 'A', start, rightward);
+                }
+                if (rackCounts[BLANK] > 0) {
+                    place(pos, arc, letter, BLANK, start, rightward);
+                }
+            }
+            if (gaddag.isLastArc(arc)) {
+                break;
+            }
+        }
+    }
+
+    private void place(int pos, int arc, char letter, int rackIndex, int start, boolean rightward) {
+        rackCounts[rackIndex]--;
+        tilesOnRack--;
+        letters[pos] = letter;
+        placed[pos] = true;
+        blanks[pos] = rackIndex == BLANK;
+
+        extend(pos, arc, start, rightward);
+
+        placed[pos] = false;
+        tilesOnRack++;
+        rackCounts[rackIndex]++;
+    }
+
+    private void extend(int pos, int arc, int start, boolean rightward) {
+        int child = gaddag.getChildNode(arc);
+
+        if (rightward) {
+            if (gaddag.isTerminalArc(arc) && (pos == SIZE - 1 || fixedLetters[pos + 1] == 0)) {
+                record(start, pos);
+            }
+            if (child != Gaddag.NO_NODE && pos + 1 < SIZE) {
+                generate(pos + 1, child, start, true);
+            }
+            return;
+        }
+
+        if (child == Gaddag.NO_NODE) {
+            return;
+        }
+
+        // Words ending at the anchor are terminal on the delimiter arc
+        int delimiter = gaddag.findArc(child, Gaddag.DELIMITER);
+        if (delimiter >= 0 && (pos == 0 || fixedLetters[pos - 1] == 0)) {
+            if (gaddag.isTerminalArc(delimiter) && (anchor == SIZE - 1 || fixedLetters[anchor + 1] == 0)) {
+                record(pos, anchor);
+            }
+            int next = gaddag.getChildNode(delimiter);
+            if (next != Gaddag.NO_NODE && anchor + 1 < SIZE) {
+                generate(anchor + 1, next, pos, true);
+            }
+        }
+
+        // A placement reaching another anchor on the left is generated from that anchor instead
+        if (pos > 0 && (fixedLetters[pos - 1] != 0 || !anchors[pos - 1])) {
+            generate(pos - 1, child, pos - 1, false);
+        }
+    }
+
+    private void record(int start, int end) {
+        int first = -1;
+        int count = 0;
+        for (int pos = start; pos <= end; pos++) {
+            if (placed[pos]) {
+                if (first < 0) {
+                    first = pos;
+                }
+                keyLetters[count] = letters[pos];
+                keyBlanks[count] = blanks[pos];
+                count++;
+            }
+        }
+
+        // A single tile forming a word across the line is already found along that word
+        // in the other direction, which is its canonical one
+        if (count == 1 && direction == Move.Direction.VERTICAL &&
+                crossScores[first] != CrossCheckIndex.NO_CROSS_WORD) {
+            return;
+        }
+
+        int firstRow = lines.getRow(line, first);
+        int firstCol = lines.getCol(line, first);
+        long key = MoveKey.of(firstRow, firstCol, direction, keyLetters, keyBlanks, count);
+
+        int mainScore = 0;
+        int wordMultiplier = 1;
+        int crossScore = 0;
+
+        for (int pos = start; pos <= end; pos++) {
+            if (!placed[pos]) {
+                mainScore += fixedValues[pos];
+                continue;
+            }
+
+            int letterMultiplier = 1;
+            int squareMultiplier = 1;
+            if (!lines.isPremiumUsed(line, pos)) {
+                Square.SquareType type = lines.getSquareType(line, pos);
+                letterMultiplier = type.getLetterMultiplier();
+                squareMultiplier = type.getWordMultiplier();
+            }
+
+            int value = (blanks[pos] ? 0 : letterValues[letters[pos] - 'A']) * letterMultiplier;
+            mainScore += value;
+            wordMultiplier *= squareMultiplier;
+
+            if (crossScores[pos] != CrossCheckIndex.NO_CROSS_WORD) {
+                crossScore += (crossScores[pos] + value) * squareMultiplier;
+            }
+        }
+
+        int score = mainScore * wordMultiplier + crossScore;
+        if (count == GameConstants.RACK_CAPACITY) {
+            score += GameConstants.BINGO_BONUS;
+        }
+
+        sink.add(key, score);
+    }
+
+    // Line setup
+    private void loadLine(Move.Direction lineDirection, int index, int anchorBits) {
+        direction = lineDirection;
+        lines = board.getLines(lineDirection);
+        line = index;
+
+        for (int pos = 0; pos < SIZE; pos++) {
+            anchors[pos] = (anchorBits & (1 << pos)) != 0;
+            fixedLetters[pos] = lines.getLetter(line, pos);
+            fixedValues[pos] = lines.getTileValue(line, pos);
+        }
+        crossIndex.copyLine(direction, line, crossChecks, crossScores);
+    }
+}
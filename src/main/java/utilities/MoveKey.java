@@ -0,0 +1,71 @@
+package utilities;
+
+import model.Move;
+
+/**
+ * Canonical identity of a placement packed into a long: the square of its first new tile,
+ * its direction, and the letter and blank flag of each new tile in order. Two placements
+ * with the same key put the same tiles on the same squares. A single tile has no direction
+ * of its own, so single-tile keys are always horizontal.
+ *
+ * Layout: bits 0-3 row, 4-7 column, 8 vertical, 9-11 tile count, then six bits per tile
+ * (five for the letter, one for blank) from bit 12.
+ */
+public final class MoveKey {
+    public static final int MAX_TILES = 7;
+
+    private static final int ROW_SHIFT = 0;
+    private static final int COL_SHIFT = 4;
+    private static final int VERTICAL_BIT = 1 << 8;
+    private static final int COUNT_SHIFT = 9;
+    private static final int TILES_SHIFT = 12;
+    private static final int TILE_BITS = 6;
+    private static final int BLANK_BIT = 1 << 5;
+
+    private MoveKey() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    // Encoding
+    public static long of(int row, int col, Move.Direction direction, char[] letters, boolean[] blanks, int count) {
+        if (count < 1 || count > MAX_TILES) {
+            throw new IllegalArgumentException("Tile count out of range: " + count);
+        }
+
+        long key = ((long) row << ROW_SHIFT) | ((long) col << COL_SHIFT) | ((long) count << COUNT_SHIFT);
+        if (direction == Move.Direction.VERTICAL && count > 1) {
+            key |= VERTICAL_BIT;
+        }
+
+        for (int i = 0; i < count; i++) {
+            long tile = (letters[i] - 'A') | (blanks[i] ? BLANK_BIT : 0);
+            key |= tile << (TILES_SHIFT + i * TILE_BITS);
+        }
+        return key;
+    }
+
+    // Decoding
+    public static int getRow(long key) {
+        return (int) (key >>> ROW_SHIFT) & 0xF;
+    }
+
+    public static int getCol(long key) {
+        return (int) (key >>> COL_SHIFT) & 0xF;
+    }
+
+    public static Move.Direction getDirection(long key) {
+        return (key & VERTICAL_BIT) != 0 ? Move.Direction.VERTICAL : Move.Direction.HORIZONTAL;
+    }
+
+    public static int getTileCount(long key) {
+        return (int) (key >>> COUNT_SHIFT) & 0x7;
+    }
+
+    public static char getLetter(long key, int tile) {
+        return (char) ('A' + ((key >>> (TILES_SHIFT + tile * TILE_BITS)) & 0x1F));
+    }
+
+    public static boolean isBlank(long key, int tile) {
+        return ((key >>> (TILES_SHIFT + tile * TILE_BITS)) & BLANK_BIT) != 0;
+    }
+}
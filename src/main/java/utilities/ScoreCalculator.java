@@ -1,9 +1,10 @@
 package utilities;
 
 import model.Board;
+import model.LineView;
 import model.Move;
 import model.Square;
-import model.Tile;
+import model.WordSpan;
 import java.awt.Point;
 import java.util.*;
 import java.util.logging.Logger;
@@ -17,19 +18,15 @@ public final class ScoreCalculator {
     }
 
     // Move scoring methods
-    public static int calculateMoveScore(Move move, Board board, List<String> formedWords,
-                                         Set<Point> newTilePositions) {
+    public static int calculateMoveScore(Move move, Board board, List<WordSpan> formedWords,
+                                         Collection<Point> newTilePositions) {
         int totalScore = 0;
 
-        for (String word : formedWords) {
-            Point wordPos = findWordPosition(board, word);
-            if (wordPos == null) continue;
-
-            boolean isHorizontal = isWordHorizontal(board, word, wordPos);
-            int wordScore = calculateWordScore(word, wordPos.x, wordPos.y, isHorizontal, board, newTilePositions);
+        for (WordSpan span : formedWords) {
+            int wordScore = calculateWordScore(span, board, newTilePositions);
             totalScore += wordScore;
 
-            logger.fine("Word '" + word + "' scored " + wordScore + " points");
+            logger.fine("Word '" + span.getWord() + "' scored " + wordScore + " points");
         }
 
         if (move.getTiles().size() == GameConstants.RACK_CAPACITY) {
@@ -40,23 +37,28 @@ public final class ScoreCalculator {
         return totalScore;
     }
 
-    public static int calculateWordScore(String word, int startRow, int startCol, boolean isHorizontal,
-                                         Board board, Set<Point> newTilePositions) {
+    // Scores the span's squares on the board; premiums count only under new tiles
+    public static int calculateWordScore(WordSpan span, Board board, Collection<Point> newTilePositions) {
         int score = 0;
         int wordMultiplier = 1;
-        int row = startRow;
-        int col = startCol;
-
-        for (int i = 0; i < word.length(); i++) {
-            Square square = board.getSquare(row, col);
-            Point currentPoint = new Point(row, col);
-            Tile tile = square.getTile();
+        LineView lines = board.getLines(span.getDirection());
+        int line = lines.lineOf(span.getRow(), span.getCol());
+        int start = lines.positionOf(span.getRow(), span.getCol());
+
+        // Bit pos set for each new tile on the word's line
+        int newTiles = 0;
+        for (Point p : newTilePositions) {
+            if (lines.lineOf(p.x, p.y) == line) {
+                newTiles |= 1 << lines.positionOf(p.x, p.y);
+            }
+        }
 
-            int letterValue = tile.isBlank() ? 0 : tile.getValue();
+        for (int pos = start; pos < start + span.getLength(); pos++) {
+            int letterValue = lines.getTileValue(line, pos);
             int effectiveValue = letterValue;
 
-            if (newTilePositions.contains(currentPoint) && !square.isPremiumUsed()) {
-                Square.SquareType squareType = square.getSquareType();
+            if ((newTiles & (1 << pos)) != 0 && !lines.isPremiumUsed(line, pos)) {
+                Square.SquareType squareType = lines.getSquareType(line, pos);
 
                 switch (squareType) {
                     case DOUBLE_LETTER:
@@ -79,78 +81,8 @@ public final class ScoreCalculator {
             }
 
             score += effectiveValue;
-
-            if (isHorizontal) {
-                col++;
-            } else {
-                row++;
-            }
         }
 
         return score * wordMultiplier;
     }
-
-    // Word finding methods
-    public static Point findWordPosition(Board board, String word) {
-        // Check horizontal words
-        for (int row = 0; row < Board.SIZE; row++) {
-            for (int col = 0; col < Board.SIZE; col++) {
-                if (col + word.length() <= Board.SIZE) {
-                    boolean match = true;
-                    for (int i = 0; i < word.length(); i++) {
-                        Square square = board.getSquare(row, col + i);
-                        if (!square.hasTile() || square.getTile().getLetter() != word.charAt(i)) {
-                            match = false;
-                            break;
-                        }
-                    }
-                    if (match) {
-                        return new Point(row, col);
-                    }
-                }
-            }
-        }
-
-        // Check vertical words
-        for (int col = 0; col < Board.SIZE; col++) {
-            for (int row = 0; row < Board.SIZE; row++) {
-                if (row + word.length() <= Board.SIZE) {
-                    boolean match = true;
-                    for (int i = 0; i < word.length(); i++) {
-                        Square square = board.getSquare(row + i, col);
-                        if (!square.hasTile() || square.getTile().getLetter() != word.charAt(i)) {
-                            match = false;
-                            break;
-                        }
-                    }
-                    if (match) {
-                        return new Point(row, col);
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
-
-    public static boolean isWordHorizontal(Board board, String word, Point position) {
-        int row = position.x;
-        int col = position.y;
-
-        if (col + word.length() <= Board.SIZE) {
-            boolean match = true;
-            for (int i = 0; i < word.length(); i++) {
-                Square square = board.getSquare(row, col + i);
-                if (!square.hasTile() || square.getTile().getLetter() != word.charAt(i)) {
-                    match = false;
-                    break;
-                }
-            }
-            if (match) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package utilities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time limit and cancellation flag for a move search. Searches check it between units of work
+ * and stop early once it is spent, keeping what they have found so far. A budget may be
+ * cancelled from any thread.
+ */
+public final class SearchBudget {
+    public static final SearchBudget UNLIMITED = new SearchBudget(Long.MAX_VALUE);
+
+    private final long deadline;
+    private final boolean timed;
+    private volatile boolean cancelled;
+
+    private SearchBudget(long deadline) {
+        this.deadline = deadline;
+        this.timed = deadline != Long.MAX_VALUE;
+    }
+
+    public static SearchBudget withTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+        }
+        return new SearchBudget(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    // Cancellation; the shared unlimited budget ignores it so one caller cannot stop every search
+    public void cancel() {
+        if (this != UNLIMITED) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // True once cancelled or past the deadline
+    public boolean isExhausted() {
+        return cancelled || (timed && System.nanoTime() - deadline >= 0);
+    }
+}
@@ -2,464 +2,227 @@ package utilities;
 
 import model.*;
 import model.Dictionary;
-import java.awt.Point;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Logger;
 
 public class WordFinder {
     private static final Logger logger = Logger.getLogger(WordFinder.class.getName());
+
+    // Rows and columns searched by a full search
+    public static final int LINES = 2 * Board.SIZE;
+
     private final Dictionary dictionary;
     private final Board board;
+    private final ForkJoinPool pool;
+    private final MoveCache cache;
 
     // Core constructor
     public WordFinder(Dictionary dictionary, Board board) {
+        this(dictionary, board, null, null);
+    }
+
+    // Splits generation into one task per row and column on the pool when one is given
+    public WordFinder(Dictionary dictionary, Board board, ForkJoinPool pool) {
+        this(dictionary, board, pool, null);
+    }
+
+    // Reuses the lines a game's cache already holds for the rack instead of regenerating them
+    public WordFinder(Dictionary dictionary, Board board, ForkJoinPool pool, MoveCache cache) {
         this.dictionary = dictionary;
         this.board = board;
+        this.pool = pool;
+        this.cache = cache;
     }
 
     // Main placement finding methods
     public List<WordPlacement> findAllPlacements(Rack rack) {
-        List<WordPlacement> placements = new ArrayList<>();
-        String rackLetters = getAvailableLetters(rack);
-        List<Tile> rackTiles = new ArrayList<>(rack.getTiles());
-
-        if (board.isEmpty()) {
-            findPlacementsForFirstMove(rackLetters, rackTiles, placements);
-            return placements;
-        }
-
-        List<Point> anchorPoints = findAnchorPoints();
-        logger.info("Found " + anchorPoints.size() + " anchor points");
+        return findTopPlacements(rack, Integer.MAX_VALUE, MoveBuffer.BY_SCORE);
+    }
 
-        for (Point anchor : anchorPoints) {
-            int row = anchor.x;
-            int col = anchor.y;
+    public List<WordPlacement> findTopPlacements(Rack rack, int limit) {
+        return findTopPlacements(rack, limit, MoveBuffer.BY_SCORE);
+    }
 
-            String[] hContext = getWordContext(row, col, Move.Direction.HORIZONTAL);
-            findPlacements(row, col, Move.Direction.HORIZONTAL,
-                    hContext[0], hContext[1], rackLetters, rackTiles, placements);
+    public List<WordPlacement> findTopPlacements(Rack rack, int limit, MoveBuffer.Ranking ranking) {
+        MoveBuffer found = findPlacements(rack, limit, ranking);
 
-            String[] vContext = getWordContext(row, col, Move.Direction.VERTICAL);
-            findPlacements(row, col, Move.Direction.VERTICAL,
-                    vContext[0], vContext[1], rackLetters, rackTiles, placements);
+        List<WordPlacement> placements = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            placements.add(toPlacement(rack, found.getKey(i), found.getScore(i)));
         }
-
-        placements.sort(Comparator.comparing(WordPlacement::getScore).reversed());
         return placements;
     }
 
-    private void findPlacementsForFirstMove(String rackLetters, List<Tile> rackTiles,
-                                            List<WordPlacement> placements) {
-        int center = GameConstants.CENTER_SQUARE;
-        Gaddag gaddag = dictionary.getGaddag();
-
-        for (char letter : getUniqueLetters(rackLetters)) {
-            Set<String> words = gaddag.getWordsFrom(rackLetters, letter, true, true);
-
-            for (String word : words) {
-                for (int pos = 0; pos < word.length(); pos++) {
-                    if (word.charAt(pos) != letter) continue;
-
-                    // Try horizontal placement
-                    int startCol = center - pos;
-                    if (startCol >= 0 && startCol + word.length() <= Board.SIZE) {
-                        List<Tile> tiles = getTilesForWord(word, rackTiles);
-                        if (tiles != null) {
-                            int score = calculateFirstMoveScore(word, tiles);
-                            placements.add(new WordPlacement(
-                                    word, center, startCol, Move.Direction.HORIZONTAL,
-                                    tiles, score, Collections.emptyList()));
-                        }
-                    }
-
-                    // Try vertical placement
-                    int startRow = center - pos;
-                    if (startRow >= 0 && startRow + word.length() <= Board.SIZE) {
-                        List<Tile> tiles = getTilesForWord(word, rackTiles);
-                        if (tiles != null) {
-                            int score = calculateFirstMoveScore(word, tiles);
-                            placements.add(new WordPlacement(
-                                    word, startRow, center, Move.Direction.VERTICAL,
-                                    tiles, score, Collections.emptyList()));
-                        }
-                    }
-                }
-            }
-        }
+    public MoveBuffer findPlacements(Rack rack, int limit, MoveBuffer.Ranking ranking) {
+        return findPlacements(rack, limit, ranking, SearchBudget.UNLIMITED);
     }
 
-    private void findPlacements(int row, int col, Move.Direction direction,
-                                String prefix, String suffix,
-                                String rackLetters, List<Tile> rackTiles,
-                                List<WordPlacement> placements) {
-
-        logger.fine("Finding placements at " + row + "," + col + " " + direction +
-                " with prefix: '" + prefix + "', suffix: '" + suffix + "'");
-
-        StringBuilder allLettersBuilder = new StringBuilder(rackLetters);
-        allLettersBuilder.append(prefix).append(suffix);
-        String allLetters = allLettersBuilder.toString();
-
-        for (char letter : getUniqueLetters(rackLetters)) {
-            Set<String> words = dictionary.getGaddag().getWordsFrom(
-                    allLetters, letter, true, true);
-
-            for (String word : words) {
-                if (word.length() < 2) continue;
-
-                for (int pos = 0; pos < word.length(); pos++) {
-                    if (word.charAt(pos) != letter) continue;
-
-                    int startRow = direction == Move.Direction.HORIZONTAL ? row : row - pos;
-                    int startCol = direction == Move.Direction.HORIZONTAL ? col - pos : col;
-
-                    if (startRow < 0 || startCol < 0 ||
-                            (direction == Move.Direction.HORIZONTAL && startCol + word.length() > Board.SIZE) ||
-                            (direction == Move.Direction.VERTICAL && startRow + word.length() > Board.SIZE)) {
-                        continue;
-                    }
-
-                    if (!isPlacementCompatible(word, direction, startRow, startCol)) {
-                        continue;
-                    }
-
-                    Board tempBoard = board.copy();
-                    List<Point> newPositions = new ArrayList<>();
-                    List<Tile> tilesNeeded = placeTilesOnTempBoard(
-                            word, direction, startRow, startCol, rackTiles, tempBoard, newPositions);
-
-                    if (tilesNeeded == null || tilesNeeded.isEmpty()) {
-                        continue;
-                    }
-
-                    Move testMove = createTestMove(direction, startRow, startCol);
-                    List<String> formedWords = WordValidator.validateWords(
-                            tempBoard, testMove, newPositions, dictionary);
-
-                    if (formedWords.isEmpty()) {
-                        continue;
-                    }
-
-                    Set<Point> newPositionsSet = new HashSet<>(newPositions);
-                    int score = ScoreCalculator.calculateMoveScore(
-                            testMove, tempBoard, formedWords, newPositionsSet);
-
-                    placements.add(new WordPlacement(
-                            word, startRow, startCol, direction, tilesNeeded, score, formedWords));
+    /**
+     * Returns the best {@code limit} placements under {@code ranking} as keys and scores, best
+     * first. Only that many are held while generating, however many placements the rack has;
+     * use {@link #toPlacement} on the ones that are actually shown or played. The budget is
+     * checked before each row and column, and once it is spent the placements found on the
+     * lines searched so far are returned; {@link MoveBuffer#getLinesSearched} tells how many.
+     */
+    public MoveBuffer findPlacements(Rack rack, int limit, MoveBuffer.Ranking ranking, SearchBudget budget) {
+        MoveBuffer found = new MoveBuffer(limit, ranking);
+        int searched = 0;
+        if (pool == null) {
+            MoveGenerator generator = new MoveGenerator(dictionary.getGaddag(), board);
+            for (int line = 0; line < LINES && !budget.isExhausted(); line++) {
+                Move.Direction direction = Move.Direction.values()[line / Board.SIZE];
+                if (cache == null) {
+                    generator.generate(rack, direction, line % Board.SIZE, found);
+                } else {
+                    found.addAll(findLine(generator, rack, direction, line % Board.SIZE, found));
                 }
+                searched++;
             }
+        } else {
+            searched = generateInParallel(rack, found, budget);
         }
-    }
 
-    // Board context methods
-    private List<Point> findAnchorPoints() {
-        List<Point> anchors = new ArrayList<>();
-
-        for (int row = 0; row < Board.SIZE; row++) {
-            for (int col = 0; col < Board.SIZE; col++) {
-                if (board.getSquare(row, col).hasTile()) {
-                    continue;
-                }
-
-                if (hasAdjacentTile(row, col)) {
-                    anchors.add(new Point(row, col));
-                }
-            }
+        found.setLinesSearched(searched);
+        if (searched < LINES) {
+            logger.info("Search budget spent after " + searched + " of " + LINES + " lines");
         }
+        logger.fine("Generated " + found.getSeen() + " placements, kept " + found.size());
 
-        return anchors;
+        found.sortBestFirst();
+        return found;
     }
 
-    private String[] getWordContext(int row, int col, Move.Direction direction) {
-        String prefix = "";
-        String suffix = "";
-
-        if (direction == Move.Direction.HORIZONTAL) {
-            StringBuilder prefixBuilder = new StringBuilder();
-            int c = col - 1;
-            while (c >= 0 && board.getSquare(row, c).hasTile()) {
-                prefixBuilder.insert(0, board.getSquare(row, c).getTile().getLetter());
-                c--;
-            }
-            prefix = prefixBuilder.toString();
+    // Returns the number of lines searched before the budget was spent
+    private int generateInParallel(Rack rack, MoveBuffer found, SearchBudget budget) {
+        Gaddag gaddag = dictionary.getGaddag();
 
-            StringBuilder suffixBuilder = new StringBuilder();
-            c = col + 1;
-            while (c < Board.SIZE && board.getSquare(row, c).hasTile()) {
-                suffixBuilder.append(board.getSquare(row, c).getTile().getLetter());
-                c++;
-            }
-            suffix = suffixBuilder.toString();
-        } else {
-            StringBuilder prefixBuilder = new StringBuilder();
-            int r = row - 1;
-            while (r >= 0 && board.getSquare(r, col).hasTile()) {
-                prefixBuilder.insert(0, board.getSquare(r, col).getTile().getLetter());
-                r--;
-            }
-            prefix = prefixBuilder.toString();
+        // Build the shared cross-checks up front; the workers only read the board
+        board.getCrossChecks(gaddag);
 
-            StringBuilder suffixBuilder = new StringBuilder();
-            r = row + 1;
-            while (r < Board.SIZE && board.getSquare(r, col).hasTile()) {
-                suffixBuilder.append(board.getSquare(r, col).getTile().getLetter());
-                r++;
+        List<ForkJoinTask<MoveBuffer>> lines = new ArrayList<>();
+        for (Move.Direction direction : Move.Direction.values()) {
+            for (int index = 0; index < Board.SIZE; index++) {
+                int line = index;
+                lines.add(pool.submit(() -> budget.isExhausted() ? null :
+                        findLine(new MoveGenerator(gaddag, board), rack, direction, line, found)));
             }
-            suffix = suffixBuilder.toString();
         }
 
-        return new String[] { prefix, suffix };
-    }
-
-    private String[] getPartialWordsAt(int row, int col, Move.Direction direction) {
-        StringBuilder prefix = new StringBuilder();
-        StringBuilder suffix = new StringBuilder();
-
-        if (direction == Move.Direction.HORIZONTAL) {
-            int c = col - 1;
-            while (c >= 0 && board.getSquare(row, c).hasTile()) {
-                prefix.insert(0, board.getSquare(row, c).getTile().getLetter());
-                c--;
-            }
-
-            c = col + 1;
-            while (c < Board.SIZE && board.getSquare(row, c).hasTile()) {
-                suffix.append(board.getSquare(row, c).getTile().getLetter());
-                c++;
-            }
-        } else {
-            int r = row - 1;
-            while (r >= 0 && board.getSquare(r, col).hasTile()) {
-                prefix.insert(0, board.getSquare(r, col).getTile().getLetter());
-                r--;
-            }
-
-            r = row + 1;
-            while (r < Board.SIZE && board.getSquare(r, col).hasTile()) {
-                suffix.append(board.getSquare(r, col).getTile().getLetter());
-                r++;
+        int searched = 0;
+        for (ForkJoinTask<MoveBuffer> line : lines) {
+            MoveBuffer lineFound = line.join();
+            if (lineFound != null) {
+                found.addAll(lineFound);
+                searched++;
             }
         }
-
-        return new String[] {prefix.toString(), suffix.toString()};
+        return searched;
     }
 
-    private boolean hasAdjacentTile(int row, int col) {
-        if (row > 0 && board.getSquare(row - 1, col).hasTile()) {
-            return true;
-        }
-        if (row < Board.SIZE - 1 && board.getSquare(row + 1, col).hasTile()) {
-            return true;
-        }
-        if (col > 0 && board.getSquare(row, col - 1).hasTile()) {
-            return true;
+    // Placements along one line: every one of them when cached, otherwise only those that
+    // could still make it into found
+    private MoveBuffer findLine(MoveGenerator generator, Rack rack, Move.Direction direction, int index,
+                                MoveBuffer found) {
+        if (cache == null) {
+            MoveBuffer lineFound = found.emptyCopy();
+            generator.generate(rack, direction, index, lineFound);
+            return lineFound;
         }
-        if (col < Board.SIZE - 1 && board.getSquare(row, col + 1).hasTile()) {
-            return true;
-        }
-
-        return false;
-    }
 
-    // Word validation methods
-    private boolean isPlacementCompatible(String word, Move.Direction direction,
-                                          int startRow, int startCol) {
-        int row = startRow;
-        int col = startCol;
-
-        for (int i = 0; i < word.length(); i++) {
-            if (row >= Board.SIZE || col >= Board.SIZE) {
-                return false;
-            }
-
-            if (board.getSquare(row, col).hasTile()) {
-                char boardLetter = board.getSquare(row, col).getTile().getLetter();
-                if (boardLetter != word.charAt(i)) {
-                    return false;
-                }
-            }
-
-            if (direction == Move.Direction.HORIZONTAL) {
-                col++;
-            } else {
-                row++;
-            }
+        MoveBuffer lineFound = cache.getLine(rack, direction, index);
+        if (lineFound == null) {
+            lineFound = new MoveBuffer();
+            generator.generate(rack, direction, index, lineFound);
+            cache.putLine(rack, direction, index, lineFound);
         }
-
-        return true;
+        return lineFound;
     }
 
-    private boolean isWordCompatible(String word, Move.Direction direction,
-                                     int startRow, int startCol,
-                                     String prefix, String suffix) {
-        int anchorRow = direction == Move.Direction.HORIZONTAL ? startRow : startRow + prefix.length();
-        int anchorCol = direction == Move.Direction.HORIZONTAL ? startCol + prefix.length() : startCol;
-
-        if (!prefix.isEmpty()) {
-            if (word.length() <= prefix.length() ||
-                    !word.substring(0, prefix.length()).equals(prefix)) {
-                return false;
-            }
+    /**
+     * Expands a generated key back into a full placement on the current board: the main word,
+     * its start square, the rack tiles it uses and the cross words it forms.
+     */
+    public WordPlacement toPlacement(Rack rack, long key, int score) {
+        int count = MoveKey.getTileCount(key);
+        int row = MoveKey.getRow(key);
+        int col = MoveKey.getCol(key);
+
+        // Single tiles are keyed horizontally but play down the column when the row has no word
+        Move.Direction direction = MoveKey.getDirection(key);
+        int rowOccupancy = board.getRowOccupancy(row);
+        if (count == 1 && (((rowOccupancy << 1) | (rowOccupancy >>> 1)) & (1 << col)) == 0) {
+            direction = Move.Direction.VERTICAL;
         }
 
-        if (!suffix.isEmpty()) {
-            int suffixStart = direction == Move.Direction.HORIZONTAL ?
-                    anchorCol - startCol + 1 : anchorRow - startRow + 1;
+        LineView lines = board.getLines(direction);
+        LineView crossLines = board.getLines(direction.perpendicular());
+        int line = lines.lineOf(row, col);
 
-            if (word.length() < suffixStart + suffix.length() ||
-                    !word.substring(suffixStart).equals(suffix)) {
-                return false;
-            }
+        // The key starts at the first new tile; the word may start on board tiles before it
+        int start = lines.positionOf(row, col);
+        while (start > 0 && lines.hasTile(line, start - 1)) {
+            start--;
         }
 
-        int row = startRow;
-        int col = startCol;
-
-        for (int i = 0; i < word.length(); i++) {
-            if (row >= Board.SIZE || col >= Board.SIZE) return false;
-
-            if (board.getSquare(row, col).hasTile()) {
-                if (board.getSquare(row, col).getTile().getLetter() != word.charAt(i)) {
-                    return false;
-                }
+        List<Tile> rackTiles = rack.getTiles();
+        boolean[] taken = new boolean[rackTiles.size()];
+        List<Tile> tiles = new ArrayList<>(count);
+        List<String> crossWords = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+
+        int placed = 0;
+        for (int pos = start; pos < Board.SIZE; pos++) {
+            if (lines.hasTile(line, pos)) {
+                word.append(lines.getLetter(line, pos));
+                continue;
             }
-
-            if (direction == Move.Direction.HORIZONTAL) {
-                col++;
-            } else {
-                row++;
+            if (placed == count) {
+                break;
             }
-        }
-
-        return true;
-    }
-
-    // Tile placement and scoring methods
-    private Move createTestMove(Move.Direction direction, int startRow, int startCol) {
-        return Move.createPlaceMove(new Player("temp"), startRow, startCol, direction);
-    }
-
-    private List<Tile> placeTilesOnTempBoard(String word, Move.Direction direction,
-                                             int startRow, int startCol, List<Tile> rackTiles,
-                                             Board tempBoard, List<Point> newPositions) {
-        List<Tile> tilesNeeded = new ArrayList<>();
-        List<Tile> availableTiles = new ArrayList<>(rackTiles);
 
-        int row = startRow;
-        int col = startCol;
+            char letter = MoveKey.getLetter(key, placed);
+            tiles.add(takeTile(rackTiles, taken, letter, MoveKey.isBlank(key, placed)));
+            word.append(letter);
+            placed++;
 
-        for (int i = 0; i < word.length(); i++) {
-            char letter = word.charAt(i);
-
-            if (row >= Board.SIZE || col >= Board.SIZE) {
-                return null;
-            }
-
-            if (tempBoard.getSquare(row, col).hasTile()) {
-                Tile existingTile = tempBoard.getSquare(row, col).getTile();
-                if (existingTile.getLetter() != letter) {
-                    return null;
-                }
-            } else {
-                Tile tileToUse = findTileForLetter(letter, availableTiles);
-                if (tileToUse == null) {
-                    return null;
-                }
-
-                availableTiles.remove(tileToUse);
-
-                if (tileToUse.isBlank() && tileToUse.getLetter() == '*') {
-                    Tile blankWithLetter = Tile.createBlankTile(letter);
-                    tilesNeeded.add(blankWithLetter);
-                    tempBoard.placeTile(row, col, blankWithLetter);
-                } else {
-                    tilesNeeded.add(tileToUse);
-                    tempBoard.placeTile(row, col, tileToUse);
-                }
-
-                newPositions.add(new Point(row, col));
-            }
-
-            if (direction == Move.Direction.HORIZONTAL) {
-                col++;
-            } else {
-                row++;
+            String crossWord = crossWord(crossLines, pos, line, letter);
+            if (crossWord.length() > 1) {
+                crossWords.add(crossWord);
             }
         }
 
-        return tilesNeeded;
+        return new WordPlacement(word.toString(), lines.getRow(line, start), lines.getCol(line, start),
+                direction, tiles, score, crossWords, key);
     }
 
-    private int calculateFirstMoveScore(String word, List<Tile> tiles) {
-        int score = 0;
-        for (Tile tile : tiles) {
-            score += tile.getValue();
-        }
-
-        score *= 2;  // Double for center square
-
-        if (tiles.size() == 7) {
-            score += GameConstants.BINGO_BONUS;
+    private Tile takeTile(List<Tile> rackTiles, boolean[] taken, char letter, boolean blank) {
+        if (blank) {
+            return Tile.createBlankTile(letter);
         }
-
-        return score;
-    }
-
-    // Tile and letter handling methods
-    private Tile findTileForLetter(char letter, List<Tile> availableTiles) {
-        for (Tile tile : availableTiles) {
-            if (tile.getLetter() == letter) {
+        for (int i = 0; i < rackTiles.size(); i++) {
+            Tile tile = rackTiles.get(i);
+            if (!taken[i] && !tile.isBlank() && tile.getLetter() == letter) {
+                taken[i] = true;
                 return tile;
             }
         }
-
-        for (Tile tile : availableTiles) {
-            if (tile.isBlank() && tile.getLetter() == '*') {
-                return tile;
-            }
-        }
-
-        return null;
+        throw new IllegalArgumentException("Rack has no " + letter + " for placement");
     }
 
-    private List<Tile> getTilesForWord(String word, List<Tile> availableTiles) {
-        Map<Character, List<Tile>> tilesByLetter = new HashMap<>();
-        for (Tile tile : availableTiles) {
-            char letter = tile.getLetter();
-            tilesByLetter.computeIfAbsent(letter, k -> new ArrayList<>()).add(tile);
+    // The word along line of lines through pos, with letter played on pos
+    private String crossWord(LineView lines, int line, int pos, char letter) {
+        int start = pos;
+        while (start > 0 && lines.hasTile(line, start - 1)) {
+            start--;
         }
 
-        List<Tile> result = new ArrayList<>();
-
-        for (char c : word.toCharArray()) {
-            if (tilesByLetter.containsKey(c) && !tilesByLetter.get(c).isEmpty()) {
-                Tile tile = tilesByLetter.get(c).remove(0);
-                result.add(tile);
-            } else if (tilesByLetter.containsKey('*') && !tilesByLetter.get('*').isEmpty()) {
-                tilesByLetter.get('*').remove(0);
-                result.add(Tile.createBlankTile(c));
-            } else {
-                return null;
-            }
+        StringBuilder word = new StringBuilder();
+        for (int p = start; p < Board.SIZE && (p == pos || lines.hasTile(line, p)); p++) {
+            word.append(p == pos ? letter : lines.getLetter(line, p));
         }
-
-        return result;
-    }
-
-    private String getAvailableLetters(Rack rack) {
-        StringBuilder sb = new StringBuilder();
-        for (Tile tile : rack.getTiles()) {
-            sb.append(tile.getLetter());
-        }
-        return sb.toString();
-    }
-
-    private Set<Character> getUniqueLetters(String letters) {
-        Set<Character> uniqueLetters = new HashSet<>();
-        for (char c : letters.toCharArray()) {
-            uniqueLetters.add(c);
-        }
-        return uniqueLetters;
+        return word.toString();
     }
 
     // WordPlacement inner class
@@ -471,9 +234,10 @@ public class WordFinder {
         private final List<Tile> tilesNeeded;
         private final int score;
         private final List<String> crossWords;
+        private final long key;
 
         public WordPlacement(String word, int row, int col, Move.Direction direction,
-                             List<Tile> tilesNeeded, int score, List<String> crossWords) {
+                             List<Tile> tilesNeeded, int score, List<String> crossWords, long key) {
             this.word = word;
             this.row = row;
             this.col = col;
@@ -481,6 +245,7 @@ public class WordFinder {
             this.tilesNeeded = new ArrayList<>(tilesNeeded);
             this.score = score;
             this.crossWords = new ArrayList<>(crossWords);
+            this.key = key;
         }
 
         public Move toMove(Player player) {
@@ -501,6 +266,21 @@ public class WordFinder {
         public Move.Direction getDirection() { return direction; }
         public int getScore() { return score; }
 
+        // Canonical identity, see MoveKey
+        public long getKey() { return key; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            return key == ((WordPlacement) obj).key;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(key);
+        }
+
         @Override
         public String toString() {
             return String.format("%s at (%d,%d) %s for %d points",
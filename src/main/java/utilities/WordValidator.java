@@ -4,6 +4,7 @@ package utilities;
 import model.Dictionary;
 import model.Board;
 import model.Move;
+import model.WordSpan;
 
 import java.awt.Point;
 import java.util.*;
@@ -19,6 +20,10 @@ public final class WordValidator {
         return dictionary.getGaddag().validateWords(board, move, newTilePositions);
     }
 
+    public static List<WordSpan> validateWordSpans(Board board, Move move, List<Point> newTilePositions, Dictionary dictionary) {
+        return dictionary.getGaddag().validateWordSpans(board, move, newTilePositions);
+    }
+
     public static boolean isValidPlaceMove(Move move, Board board, Dictionary dictionary) {
         // Use the GADDAG for move validation
         return dictionary.getGaddag().validateWordPlacement(board, move);
@@ -167,10 +167,12 @@ public class BoardView extends GridPane {
             letterLabel.setStyle("-fx-background-color: #FFAA00; -fx-padding: 5; -fx-background-radius: 3;");
             premiumLabel.setText("");
 
+            // A letter that cannot form a valid cross word is flagged, not refused
+            boolean conflict = controller.conflictsWithCrossChecks(row, col);
             setBackground(new Background(new BackgroundFill(
-                    Color.LIGHTYELLOW, CornerRadii.EMPTY, Insets.EMPTY)));
+                    conflict ? Color.MISTYROSE : Color.LIGHTYELLOW, CornerRadii.EMPTY, Insets.EMPTY)));
             setBorder(new Border(new BorderStroke(
-                    Color.ORANGE, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, new BorderWidths(2))));
+                    conflict ? Color.RED : Color.ORANGE, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, new BorderWidths(2))));
         }
 
         private void updateWithPlacedTile() {
@@ -98,6 +98,11 @@ public class GameView extends BorderPane {
 
             playButton = new Button("Play Word");
             playButton.setOnAction(e -> {
+                if (!controller.isDictionaryReady()) {
+                    showInfo("The dictionary is still loading. Please try again in a moment.");
+                    return;
+                }
+
                 boolean success = controller.commitPlacement();
                 if (!success) {
                     if (controller.getTemporaryPlacements().isEmpty()) {
@@ -181,6 +186,11 @@ public class GameView extends BorderPane {
         }
 
         private void showHints() {
+            if (!controller.isDictionaryReady()) {
+                showInfo("The dictionary is still loading. Please try again in a moment.");
+                return;
+            }
+
             List<WordFinder.WordPlacement> hints = controller.generateHints();
             if (hints.isEmpty()) {
                 showInfo("No valid moves found with your current tiles.");
@@ -200,12 +210,14 @@ public class GameView extends BorderPane {
             boolean isPlayerTurn = !currentPlayer.isComputer();
             boolean hasTemporaryPlacements = !controller.getTemporaryPlacements().isEmpty();
             boolean hasSelectedTiles = !controller.getSelectedTiles().isEmpty();
+            boolean dictionaryReady = controller.isDictionaryReady();
 
-            playButton.setDisable(!isPlayerTurn || !hasTemporaryPlacements);
+            playButton.setText(dictionaryReady ? "Play Word" : "Loading Dictionary...");
+            playButton.setDisable(!isPlayerTurn || !hasTemporaryPlacements || !dictionaryReady);
             cancelButton.setDisable(!isPlayerTurn || !hasTemporaryPlacements);
             exchangeButton.setDisable(!isPlayerTurn || hasTemporaryPlacements || !hasSelectedTiles);
             passButton.setDisable(!isPlayerTurn || hasTemporaryPlacements);
-            hintsButton.setDisable(!isPlayerTurn);
+            hintsButton.setDisable(!isPlayerTurn || !dictionaryReady);
             wordHistoryButton.setDisable(controller.getMoveHistory().isEmpty());
         }
     }
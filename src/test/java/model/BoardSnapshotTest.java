@@ -0,0 +1,86 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+    private final Player player = new Player("Test");
+
+    @Test
+    void withCopiesOnlyTheRowsAMoveWrites() {
+        BoardSnapshot parent = BoardSnapshot.EMPTY.with(place(7, 5, Move.Direction.HORIZONTAL, "CAT"));
+        BoardSnapshot child = parent.with(place(6, 8, Move.Direction.VERTICAL, "AS"));
+
+        for (int row = 0; row < Board.SIZE; row++) {
+            assertEquals(row != 6 && row != 7, child.sharesRow(parent, row), "row " + row);
+        }
+    }
+
+    @Test
+    void parentIsUnchangedByItsVariants() {
+        BoardSnapshot parent = BoardSnapshot.EMPTY.with(place(7, 5, Move.Direction.HORIZONTAL, "CAT"));
+        BoardSnapshot child = parent.with(place(7, 8, Move.Direction.HORIZONTAL, "S"));
+
+        assertFalse(parent.hasTile(7, 8));
+        assertEquals(3, parent.getTileCount());
+        assertEquals('S', child.getLetter(7, 8));
+        assertEquals(4, child.getTileCount());
+        assertTrue(BoardSnapshot.EMPTY.isEmpty());
+    }
+
+    @Test
+    void tilesFillEmptySquaresFromTheStart() {
+        BoardSnapshot parent = BoardSnapshot.EMPTY.with(place(7, 6, Move.Direction.HORIZONTAL, "A"));
+
+        // C then T either side of the A already on the board
+        BoardSnapshot child = parent.with(place(7, 5, Move.Direction.HORIZONTAL, "CT"));
+
+        assertEquals('C', child.getLetter(7, 5));
+        assertEquals('A', child.getLetter(7, 6));
+        assertEquals('T', child.getLetter(7, 7));
+    }
+
+    @Test
+    void matchesABoardWithTheSameTiles() {
+        Move move = Move.createPlaceMove(player, 7, 7, Move.Direction.VERTICAL);
+        move.addTiles(List.of(new Tile('Z', 10), Tile.createBlankTile('A')));
+        BoardSnapshot snapshot = BoardSnapshot.EMPTY.with(move);
+
+        Board board = new Board();
+        board.placeTile(7, 7, new Tile('Z', 10));
+        board.placeTile(8, 7, Tile.createBlankTile('A'));
+
+        assertEquals(board.getHash(), snapshot.getHash());
+        assertEquals(snapshot, BoardSnapshot.of(board));
+        assertTrue(snapshot.isBlank(8, 7));
+
+        Board restored = snapshot.toBoard();
+        assertEquals(board.getHash(), restored.getHash());
+        assertTrue(restored.isPremiumUsed(7, 7));
+    }
+
+    @Test
+    void movesThatPlaceNothingReturnTheSameSnapshot() {
+        BoardSnapshot snapshot = BoardSnapshot.EMPTY.with(place(7, 7, Move.Direction.HORIZONTAL, "AT"));
+
+        assertSame(snapshot, snapshot.with(Move.createPassMove(player)));
+    }
+
+    @Test
+    void rejectsMovesRunningOffTheBoard() {
+        Move move = place(7, 13, Move.Direction.HORIZONTAL, "CAT");
+
+        assertThrows(IllegalArgumentException.class, () -> BoardSnapshot.EMPTY.with(move));
+    }
+
+    private Move place(int row, int col, Move.Direction direction, String letters) {
+        Move move = Move.createPlaceMove(player, row, col, direction);
+        for (char letter : letters.toCharArray()) {
+            move.addTiles(List.of(new Tile(letter, 1)));
+        }
+        return move;
+    }
+}
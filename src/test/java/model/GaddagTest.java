@@ -0,0 +1,96 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GaddagTest {
+    private static final List<String> WORDS = List.of("CAT", "CATS", "CAR", "AT", "SCAT", "ZA");
+
+    @Test
+    void containsExactlyTheBuiltWords() {
+        Gaddag gaddag = Gaddag.build(WORDS);
+
+        assertTrue(gaddag.isCompiled());
+        for (String word : WORDS) {
+            assertTrue(gaddag.contains(word), word);
+        }
+        assertTrue(gaddag.contains("cat"));
+        assertFalse(gaddag.contains("CA"));
+        assertFalse(gaddag.contains("CATSS"));
+        assertFalse(gaddag.contains(""));
+    }
+
+    @Test
+    void everyRotationEndsOnATerminalArc() {
+        Gaddag gaddag = Gaddag.build(WORDS);
+
+        // REV(word[0, split)) + DELIMITER + word[split, length) for every split
+        String word = "CATS";
+        for (int split = 0; split <= word.length(); split++) {
+            String rotation = new StringBuilder(word.substring(0, split)).reverse() + "+" + word.substring(split);
+            assertTrue(isTerminalPath(gaddag, rotation), rotation);
+        }
+        assertFalse(isTerminalPath(gaddag, "AC+"));
+        assertFalse(isTerminalPath(gaddag, "+CA"));
+    }
+
+    @Test
+    void arcsOfANodeAreSortedAndEndWithTheLastArcFlag() {
+        Gaddag gaddag = Gaddag.build(WORDS);
+
+        // Root arcs: the first letter of every rotation, plus the delimiter
+        int arc = gaddag.getRootNode();
+        StringBuilder letters = new StringBuilder();
+        while (true) {
+            letters.append(gaddag.getArcLetter(arc));
+            if (gaddag.isLastArc(arc)) {
+                break;
+            }
+            arc++;
+        }
+        assertEquals("ACRSTZ+", letters.toString());
+
+        assertEquals(-1, gaddag.findArc(gaddag.getRootNode(), 'B'));
+        assertEquals(-1, gaddag.findArc(gaddag.getRootNode(), '?'));
+    }
+
+    @Test
+    void equalSubtreesArePackedOnce() {
+        Gaddag trie = new Gaddag();
+        for (String word : WORDS) {
+            trie.insert(word);
+        }
+        int trieArcs = trie.getArcCount();
+
+        // Minimization shares e.g. the "+T" tails of CAT, SCAT and AT
+        assertTrue(Gaddag.build(WORDS).getArcCount() < trieArcs);
+    }
+
+    @Test
+    void compiledGaddagRejectsInserts() {
+        Gaddag gaddag = Gaddag.build(WORDS);
+
+        assertThrows(IllegalStateException.class, () -> gaddag.insert("DOG"));
+    }
+
+    private static boolean isTerminalPath(Gaddag gaddag, String path) {
+        int node = gaddag.getRootNode();
+        int arc = -1;
+        for (int i = 0; i < path.length(); i++) {
+            if (i > 0) {
+                node = gaddag.getChildNode(arc);
+                if (node == Gaddag.NO_NODE) {
+                    return false;
+                }
+            }
+            arc = gaddag.findArc(node, path.charAt(i));
+            if (arc < 0) {
+                return false;
+            }
+        }
+        return gaddag.isTerminalArc(arc);
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexiconFileTest {
+    private static final String WORDS = "CAT\nCATS\nCAR\nAT\nSCAT\nZA\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsTheCompiledLexicon() throws IOException {
+        Dictionary original = dictionary();
+        Path file = dir.resolve("test.gdg");
+        LexiconFile.write(original, file);
+
+        Dictionary mapped = LexiconFile.open(file, "mapped");
+
+        assertEquals(original.getWordCount(), mapped.getWordCount());
+        assertEquals(original.getGaddag().getArcCount(), mapped.getGaddag().getArcCount());
+        assertEquals(original.getGaddag().getRootNode(), mapped.getGaddag().getRootNode());
+        for (String word : WORDS.split("\n")) {
+            assertTrue(mapped.getGaddag().contains(word), word);
+        }
+        assertFalse(mapped.getGaddag().contains("CA"));
+    }
+
+    @Test
+    void headerDescribesTheBody() throws IOException {
+        Dictionary dictionary = dictionary();
+        Path file = dir.resolve("test.gdg");
+        LexiconFile.write(dictionary, file);
+
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0x47444447, header.getInt(0));
+        assertEquals(dictionary.getWordCount(), header.getInt(8));
+        assertEquals(dictionary.getGaddag().getRootNode(), header.getInt(12));
+        assertEquals(dictionary.getGaddag().getArcCount(), header.getInt(16));
+
+        long bodyBytes = 4L * header.getInt(16) + 4L * header.getInt(20) + header.getInt(24);
+        assertEquals(40 + bodyBytes, Files.size(file));
+    }
+
+    @Test
+    void rejectsACorruptedBody() throws IOException {
+        Path file = dir.resolve("test.gdg");
+        LexiconFile.write(dictionary(), file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> LexiconFile.open(file, "corrupt"));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path file = dir.resolve("test.gdg");
+        LexiconFile.write(dictionary(), file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> LexiconFile.open(file, "truncated"));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.write(file, WORDS.repeat(10).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> LexiconFile.open(file, "text"));
+    }
+
+    private static Dictionary dictionary() throws IOException {
+        return new Dictionary(new ByteArrayInputStream(WORDS.getBytes(StandardCharsets.UTF_8)), "test");
+    }
+}
@@ -0,0 +1,109 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    @Test
+    void boardHashDependsOnTilesNotPlacementOrder() {
+        Board forward = new Board();
+        forward.placeTile(7, 7, new Tile('C', 3));
+        forward.placeTile(7, 8, new Tile('A', 1));
+        forward.placeTile(7, 9, Tile.createBlankTile('T'));
+
+        Board backward = new Board();
+        backward.placeTile(7, 9, Tile.createBlankTile('T'));
+        backward.placeTile(7, 8, new Tile('A', 1));
+        backward.placeTile(7, 7, new Tile('C', 3));
+
+        assertEquals(forward.getHash(), backward.getHash());
+        assertNotEquals(0L, forward.getHash());
+        assertEquals(0L, new Board().getHash());
+    }
+
+    @Test
+    void boardHashTellsBlanksAndSquaresApart() {
+        Board letter = new Board();
+        letter.placeTile(7, 7, new Tile('E', 1));
+        Board blank = new Board();
+        blank.placeTile(7, 7, Tile.createBlankTile('E'));
+        Board moved = new Board();
+        moved.placeTile(7, 8, new Tile('E', 1));
+
+        assertNotEquals(letter.getHash(), blank.getHash());
+        assertNotEquals(letter.getHash(), moved.getHash());
+    }
+
+    @Test
+    void poppingTilesRestoresTheHash() {
+        Board board = new Board();
+        board.placeTile(7, 7, new Tile('A', 1));
+        long before = board.getHash();
+
+        assertTrue(board.pushTile(7, 8, new Tile('T', 1)));
+        assertTrue(board.pushTile(8, 7, new Tile('X', 8)));
+        assertNotEquals(before, board.getHash());
+
+        board.popTiles(2);
+        assertEquals(before, board.getHash());
+    }
+
+    @Test
+    void copiesAndSnapshotsShareTheHash() {
+        Board board = new Board();
+        board.placeTile(7, 7, new Tile('Q', 10));
+        board.placeTile(7, 8, Tile.createBlankTile('I'));
+
+        assertEquals(board.getHash(), board.copy().getHash());
+        assertEquals(board.getHash(), BoardSnapshot.of(board).getHash());
+    }
+
+    @Test
+    void rackHashIsAMultisetHash() {
+        Rack rack = rack("AAB");
+        Rack reordered = rack("ABA");
+
+        assertEquals(rack.getMultisetHash(), reordered.getMultisetHash());
+        assertNotEquals(rack.getMultisetHash(), rack("ABB").getMultisetHash());
+        assertNotEquals(rack.getMultisetHash(), rack("AB").getMultisetHash());
+        assertEquals(0L, new Rack().getMultisetHash());
+    }
+
+    @Test
+    void rackHashFollowsAddsAndRemoves() {
+        Rack rack = rack("AB");
+        long ab = rack.getMultisetHash();
+
+        Tile blank = Tile.createBlankTile('Z');
+        rack.addTile(blank);
+        assertNotEquals(ab, rack.getMultisetHash());
+
+        rack.removeTile(blank);
+        assertEquals(ab, rack.getMultisetHash());
+
+        rack.removeTiles(List.of(new Tile('A', 1), new Tile('B', 3)));
+        assertEquals(0L, rack.getMultisetHash());
+    }
+
+    @Test
+    void blanksHashAlikeWhateverTheirLetter() {
+        Rack a = new Rack();
+        a.addTile(Tile.createBlankTile('A'));
+        Rack z = new Rack();
+        z.addTile(Tile.createBlankTile('Z'));
+
+        assertEquals(a.getMultisetHash(), z.getMultisetHash());
+    }
+
+    private static Rack rack(String letters) {
+        Rack rack = new Rack();
+        for (char letter : letters.toCharArray()) {
+            rack.addTile(new Tile(letter, letter == 'A' ? 1 : 3));
+        }
+        return rack;
+    }
+}
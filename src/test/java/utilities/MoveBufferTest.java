@@ -0,0 +1,107 @@
+package utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveBufferTest {
+
+    @Test
+    void boundedBufferKeepsTheBestScores() {
+        MoveBuffer buffer = new MoveBuffer(3, MoveBuffer.BY_SCORE);
+        int[] scores = {5, 40, 12, 7, 33, 40, 1, 18};
+        for (int i = 0; i < scores.length; i++) {
+            buffer.add(i, scores[i]);
+        }
+
+        buffer.sortBestFirst();
+
+        assertEquals(3, buffer.size());
+        assertEquals(scores.length, buffer.getSeen());
+        assertArrayEquals(new int[]{40, 40, 33}, scores(buffer));
+    }
+
+    @Test
+    void equalScoresAreOrderedByKey() {
+        MoveBuffer buffer = new MoveBuffer(2, MoveBuffer.BY_SCORE);
+        buffer.add(9, 10);
+        buffer.add(3, 10);
+        buffer.add(5, 10);
+
+        buffer.sortBestFirst();
+
+        // The smallest keys are kept and come first, whatever order they were added in
+        assertEquals(3, buffer.getKey(0));
+        assertEquals(5, buffer.getKey(1));
+    }
+
+    @Test
+    void boundedBufferMatchesSortingEverything() {
+        Random random = new Random(42);
+        MoveBuffer top = new MoveBuffer(25, MoveBuffer.BY_SCORE);
+        MoveBuffer all = new MoveBuffer();
+        for (int i = 0; i < 1000; i++) {
+            int score = random.nextInt(200);
+            top.add(i, score);
+            all.add(i, score);
+        }
+
+        top.sortBestFirst();
+        all.sortBestFirst();
+
+        assertEquals(1000, all.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(all.getKey(i), top.getKey(i));
+            assertEquals(all.getScore(i), top.getScore(i));
+        }
+    }
+
+    @Test
+    void rankingDecidesWhatIsKept() {
+        // Rank by lowest score, e.g. to keep the weakest moves for an easy opponent
+        MoveBuffer buffer = new MoveBuffer(2, (key, score) -> -score);
+        IntStream.of(30, 10, 20, 5).forEach(score -> buffer.add(score, score));
+
+        buffer.sortBestFirst();
+
+        assertArrayEquals(new int[]{5, 10}, scores(buffer));
+    }
+
+    @Test
+    void mergedBuffersKeepTheBestOfBothAndCountEverythingSeen() {
+        MoveBuffer left = new MoveBuffer(2, MoveBuffer.BY_SCORE);
+        MoveBuffer right = left.emptyCopy();
+        IntStream.of(1, 9, 4).forEach(score -> left.add(score, score));
+        IntStream.of(7, 2, 8).forEach(score -> right.add(100 + score, score));
+
+        left.addAll(right);
+        left.sortBestFirst();
+
+        assertArrayEquals(new int[]{9, 8}, scores(left));
+        assertEquals(6, left.getSeen());
+    }
+
+    @Test
+    void rejectsANonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveBuffer(0, MoveBuffer.BY_SCORE));
+    }
+
+    @Test
+    void rejectsIndexesPastTheEnd() {
+        MoveBuffer buffer = new MoveBuffer();
+        buffer.add(1, 1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getKey(1));
+    }
+
+    private static int[] scores(MoveBuffer buffer) {
+        int[] scores = new int[buffer.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = buffer.getScore(i);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,102 @@
+package utilities;
+
+import model.Board;
+import model.Move;
+import model.Rack;
+import model.Tile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveCacheTest {
+    private Board board;
+    private MoveCache cache;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        board.placeTile(7, 5, new Tile('C', 3));
+        board.placeTile(7, 6, new Tile('A', 1));
+        board.placeTile(7, 7, new Tile('T', 1));
+        cache = new MoveCache(board);
+    }
+
+    @Test
+    void racksWithTheSameTilesShareLines() {
+        MoveBuffer line = new MoveBuffer();
+        cache.putLine(rack("AEIRST"), Move.Direction.HORIZONTAL, 7, line);
+
+        assertSame(line, cache.getLine(rack("TSRIEA"), Move.Direction.HORIZONTAL, 7));
+        assertNull(cache.getLine(rack("TSRIEA"), Move.Direction.VERTICAL, 7));
+        assertNull(cache.getLine(rack("AEIRSS"), Move.Direction.HORIZONTAL, 7));
+    }
+
+    @Test
+    void invalidateDropsOnlyTheLinesAMoveAffects() {
+        Rack rack = rack("AEIRST");
+        for (Move.Direction direction : Move.Direction.values()) {
+            for (int index = 0; index < Board.SIZE; index++) {
+                cache.putLine(rack, direction, index, new MoveBuffer());
+            }
+        }
+
+        // CAT becomes CATS: its row and the new tile's column change, as do the lines
+        // across the squares just past CATS and just past the S in its column
+        board.placeTile(7, 8, new Tile('S', 1));
+        cache.invalidate(List.of(new Point(7, 8)));
+
+        assertNull(cache.getLine(rack, Move.Direction.HORIZONTAL, 7));
+        assertNull(cache.getLine(rack, Move.Direction.VERTICAL, 8));
+        assertNull(cache.getLine(rack, Move.Direction.VERTICAL, 4));
+        assertNull(cache.getLine(rack, Move.Direction.VERTICAL, 9));
+        assertNull(cache.getLine(rack, Move.Direction.HORIZONTAL, 6));
+        assertNull(cache.getLine(rack, Move.Direction.HORIZONTAL, 8));
+
+        int kept = 0;
+        for (Move.Direction direction : Move.Direction.values()) {
+            for (int index = 0; index < Board.SIZE; index++) {
+                if (cache.getLine(rack, direction, index) != null) {
+                    kept++;
+                }
+            }
+        }
+        assertEquals(2 * Board.SIZE - 6, kept);
+        assertNotNull(cache.getLine(rack, Move.Direction.VERTICAL, 7));
+    }
+
+    @Test
+    void invalidateAppliesToEveryCachedRack() {
+        Rack first = rack("AEIRST");
+        Rack second = rack("BDGLMO");
+        cache.putLine(first, Move.Direction.HORIZONTAL, 7, new MoveBuffer());
+        cache.putLine(second, Move.Direction.HORIZONTAL, 7, new MoveBuffer());
+
+        board.placeTile(7, 8, new Tile('S', 1));
+        cache.invalidate(List.of(new Point(7, 8)));
+
+        assertNull(cache.getLine(first, Move.Direction.HORIZONTAL, 7));
+        assertNull(cache.getLine(second, Move.Direction.HORIZONTAL, 7));
+    }
+
+    @Test
+    void clearDropsEverything() {
+        Rack rack = rack("AEIRST");
+        cache.putLine(rack, Move.Direction.VERTICAL, 0, new MoveBuffer());
+
+        cache.clear();
+
+        assertNull(cache.getLine(rack, Move.Direction.VERTICAL, 0));
+    }
+
+    private static Rack rack(String letters) {
+        Rack rack = new Rack();
+        for (char letter : letters.toCharArray()) {
+            rack.addTile(new Tile(letter, 1));
+        }
+        return rack;
+    }
+}
@@ -0,0 +1,72 @@
+package utilities;
+
+import model.Move;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveKeyTest {
+
+    @Test
+    void decodesWhatWasEncoded() {
+        char[] letters = "QUIZZES".toCharArray();
+        boolean[] blanks = {false, false, false, false, true, false, true};
+        long key = MoveKey.of(14, 3, Move.Direction.VERTICAL, letters, blanks, 7);
+
+        assertEquals(14, MoveKey.getRow(key));
+        assertEquals(3, MoveKey.getCol(key));
+        assertEquals(Move.Direction.VERTICAL, MoveKey.getDirection(key));
+        assertEquals(7, MoveKey.getTileCount(key));
+        for (int i = 0; i < 7; i++) {
+            assertEquals(letters[i], MoveKey.getLetter(key, i));
+            assertEquals(blanks[i], MoveKey.isBlank(key, i));
+        }
+    }
+
+    @Test
+    void tilesBeyondTheCountAreIgnored() {
+        char[] letters = {'A', 'B', 'C'};
+        boolean[] blanks = {false, true, true};
+
+        long two = MoveKey.of(7, 7, Move.Direction.HORIZONTAL, letters, blanks, 2);
+
+        assertEquals(2, MoveKey.getTileCount(two));
+        assertEquals(two, MoveKey.of(7, 7, Move.Direction.HORIZONTAL, new char[]{'A', 'B'},
+                new boolean[]{false, true}, 2));
+    }
+
+    @Test
+    void singleTilesHaveOneKeyWhateverTheDirection() {
+        char[] letters = {'E'};
+        boolean[] blanks = {false};
+
+        long horizontal = MoveKey.of(5, 9, Move.Direction.HORIZONTAL, letters, blanks, 1);
+        long vertical = MoveKey.of(5, 9, Move.Direction.VERTICAL, letters, blanks, 1);
+
+        assertEquals(horizontal, vertical);
+        assertEquals(Move.Direction.HORIZONTAL, MoveKey.getDirection(vertical));
+    }
+
+    @Test
+    void keysTellPlacementsApart() {
+        char[] letters = {'A', 'T'};
+        boolean[] blanks = {false, false};
+        long key = MoveKey.of(7, 7, Move.Direction.HORIZONTAL, letters, blanks, 2);
+
+        assertNotEquals(key, MoveKey.of(7, 7, Move.Direction.VERTICAL, letters, blanks, 2));
+        assertNotEquals(key, MoveKey.of(7, 8, Move.Direction.HORIZONTAL, letters, blanks, 2));
+        assertNotEquals(key, MoveKey.of(7, 7, Move.Direction.HORIZONTAL, letters, new boolean[]{true, false}, 2));
+        assertNotEquals(key, MoveKey.of(7, 7, Move.Direction.HORIZONTAL, new char[]{'T', 'A'}, blanks, 2));
+    }
+
+    @Test
+    void rejectsTileCountsOutOfRange() {
+        char[] letters = "ABCDEFGH".toCharArray();
+        boolean[] blanks = new boolean[8];
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveKey.of(0, 0, Move.Direction.HORIZONTAL, letters, blanks, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveKey.of(0, 0, Move.Direction.HORIZONTAL, letters, blanks, MoveKey.MAX_TILES + 1));
+    }
+}
@@ -0,0 +1,142 @@
+package utilities;
+
+import model.Board;
+import model.Dictionary;
+import model.Move;
+import model.Player;
+import model.Rack;
+import model.Tile;
+import model.TileBag;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the move generator with placements recorded from the original brute-force
+ * WordFinder on fixed boards. Only the placements are compared: the original scored first
+ * moves without letter premiums and left out the bingo bonus on later ones.
+ */
+class WordFinderTest {
+    private static final String BASELINE = "baseline-placements.txt";
+    private static final Player PLAYER = new Player("Test");
+
+    private static Dictionary dictionary;
+
+    @BeforeAll
+    static void loadDictionary() throws IOException {
+        dictionary = new Dictionary(Dictionary.loadFile("/Dictionary.txt"), "Dictionary", true);
+    }
+
+    @Test
+    void findsTheOriginalPlacementsOnAnEmptyBoard() throws IOException {
+        assertMatchesBaseline("QUIZEDO", "E", new Board());
+    }
+
+    @Test
+    void findsTheOriginalPlacementsInMidGame() throws IOException {
+        assertMatchesBaseline("QUIZEDO", "M", midGameBoard());
+        assertMatchesBaseline("BCDFGHK", "M", midGameBoard());
+    }
+
+    @Test
+    void findsNothingWithoutVowelsOnAnEmptyBoard() {
+        assertTrue(new WordFinder(dictionary, new Board()).findAllPlacements(rack("BCDFGHK")).isEmpty());
+    }
+
+    @Test
+    void scoresFirstMovesWithPremiumsAndBingo() {
+        WordFinder.WordPlacement antlers = null;
+        for (WordFinder.WordPlacement placement : new WordFinder(dictionary, new Board()).findAllPlacements(rack("AERSTLN"))) {
+            if (placement.getWord().equals("ANTLERS") && placement.getRow() == 7 && placement.getCol() == 1 &&
+                    placement.getDirection() == Move.Direction.HORIZONTAL) {
+                antlers = placement;
+            }
+        }
+
+        // Seven one-point letters, T on a double letter, doubled by the centre, plus the bingo
+        assertNotNull(antlers);
+        assertEquals((8 * 2) + GameConstants.BINGO_BONUS, antlers.getScore());
+    }
+
+    private static void assertMatchesBaseline(String rack, String boardName, Board board) throws IOException {
+        Set<String> expected = new TreeSet<>();
+        for (String line : readBaseline()) {
+            String prefix = rack + " " + boardName + " ";
+            if (line.startsWith(prefix)) {
+                expected.add(normalize(line.substring(prefix.length())));
+            }
+        }
+
+        Set<String> actual = new TreeSet<>();
+        for (WordFinder.WordPlacement placement : new WordFinder(dictionary, board).findAllPlacements(rack(rack))) {
+            actual.add(normalize(describe(board, placement.toMove(PLAYER))));
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual, rack + " on board " + boardName);
+    }
+
+    // Direction, then row,col and letter of each new tile, e.g. "H 7,5C 7,6A 7,7T"
+    private static String describe(Board board, Move move) {
+        boolean horizontal = move.getDirection() == Move.Direction.HORIZONTAL;
+        int row = move.getStartRow();
+        int col = move.getStartCol();
+        StringBuilder sb = new StringBuilder(horizontal ? "H" : "V");
+        for (Tile tile : move.getTiles()) {
+            while (board.hasTile(row, col)) {
+                if (horizontal) col++; else row++;
+            }
+            sb.append(' ').append(row).append(',').append(col).append(tile.getLetter());
+            if (horizontal) col++; else row++;
+        }
+        return sb.toString();
+    }
+
+    // The original finder reported a single tile once per direction; it is one placement
+    private static String normalize(String placement) {
+        return placement.indexOf(' ') == placement.lastIndexOf(' ') ? "H" + placement.substring(1) : placement;
+    }
+
+    private static List<String> readBaseline() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                WordFinderTest.class.getResourceAsStream(BASELINE), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.startsWith("#") && !line.isBlank()).toList();
+        }
+    }
+
+    private static Board midGameBoard() {
+        Board board = new Board();
+        place(board, 7, 3, Move.Direction.HORIZONTAL, "QUARTZ");
+        place(board, 4, 5, Move.Direction.VERTICAL, "FLAME");
+        place(board, 2, 9, Move.Direction.VERTICAL, "JOTTINGS");
+        place(board, 11, 1, Move.Direction.HORIZONTAL, "BRAVE");
+        place(board, 8, 1, Move.Direction.VERTICAL, "ROB");
+        return board;
+    }
+
+    private static void place(Board board, int row, int col, Move.Direction direction, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char letter = word.charAt(i);
+            int r = direction == Move.Direction.HORIZONTAL ? row : row + i;
+            int c = direction == Move.Direction.HORIZONTAL ? col + i : col;
+            board.placeTile(r, c, new Tile(letter, TileBag.getLetterValue(letter)));
+        }
+    }
+
+    private static Rack rack(String letters) {
+        Rack rack = new Rack();
+        for (char letter : letters.toCharArray()) {
+            rack.addTile(new Tile(letter, TileBag.getLetterValue(letter)));
+        }
+        return rack;
+    }
+}